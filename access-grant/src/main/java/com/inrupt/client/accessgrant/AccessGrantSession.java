@@ -145,6 +145,17 @@ public final class AccessGrantSession implements Session {
         return session.generateProof(jkt, request);
     }
 
+    @Override
+    public CompletionStage<Optional<String>> generateProofAsync(final String jkt, final Request request) {
+        return session.generateProofAsync(jkt, request);
+    }
+
+    @Override
+    public CompletionStage<Optional<String>> generateProofAsync(final String jkt, final Request request,
+            final String nonce) {
+        return session.generateProofAsync(jkt, request, nonce);
+    }
+
     @Override
     public CompletionStage<Optional<Credential>> authenticate(final Authenticator authenticator,
             final Request request, final Set<String> algorithms) {
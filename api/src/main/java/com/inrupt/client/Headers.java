@@ -23,11 +23,17 @@ package com.inrupt.client;
 import com.inrupt.client.auth.Challenge;
 import com.inrupt.client.spi.ServiceProvider;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
@@ -35,6 +41,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -44,7 +51,15 @@ public final class Headers implements Serializable {
 
     private static final long serialVersionUID = 3845207335727836025L;
 
-    private final NavigableMap<String, List<String>> data = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    // The serialized form is a case-insensitive map, as in earlier versions of this class
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("data", NavigableMap.class)
+    };
+
+    private static final Headers EMPTY = new Headers(new CompactStore(Collections.emptyMap()));
+
+    private transient Store store;
+    private transient volatile Map<String, List<String>> view;
 
     /**
      * Get the first value of a header, if it exists.
@@ -53,7 +68,7 @@ public final class Headers implements Serializable {
      * @return the first value, if present
      */
     public Optional<String> firstValue(final String name) {
-        final List<String> values = data.get(Objects.requireNonNull(name));
+        final List<String> values = store.get(Objects.requireNonNull(name));
         if (values != null && !values.isEmpty()) {
             return Optional.of(values.get(0));
         }
@@ -67,9 +82,9 @@ public final class Headers implements Serializable {
      * @return the values for the header. If no values are present, an empty list will be returned
      */
     public List<String> allValues(final String name) {
-        final List<String> values = data.get(Objects.requireNonNull(name));
+        final List<String> values = store.get(Objects.requireNonNull(name));
         if (values != null) {
-            return Collections.unmodifiableList(values);
+            return values;
         }
         return Collections.emptyList();
     }
@@ -77,10 +92,21 @@ public final class Headers implements Serializable {
     /**
      * Get the header values as a Java Map.
      *
+     * <p>Keys in the returned map are compared without regard to case.
+     *
      * @return the header values
      */
     public Map<String, List<String>> asMap() {
-        return Collections.unmodifiableNavigableMap(data);
+        Map<String, List<String>> result = view;
+        if (result == null) {
+            final NavigableMap<String, List<String>> data = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (final String name : store.names()) {
+                data.put(name, allValues(name));
+            }
+            result = Collections.unmodifiableNavigableMap(data);
+            view = result;
+        }
+        return result;
     }
 
     /**
@@ -90,7 +116,22 @@ public final class Headers implements Serializable {
      * @return the new Headers object
      */
     public static Headers of(final Map<String, List<String>> headers) {
-        return new Headers(Objects.requireNonNull(headers));
+        return new Headers(new CompactStore(Objects.requireNonNull(headers)));
+    }
+
+    /**
+     * Create a headers object as a view over another, immutable, header structure.
+     *
+     * <p>No header data is copied, which makes this suitable for adapting the header types of HTTP client
+     * libraries. The lookup function must match header names without regard to case.
+     *
+     * @param names the header names
+     * @param lookup a function that returns the values of a header, or an empty list if the header is absent
+     * @return the new Headers object
+     */
+    public static Headers of(final Set<String> names, final Function<String, List<String>> lookup) {
+        return new Headers(new ViewStore(Objects.requireNonNull(names, "Header names may not be null!"),
+                    Objects.requireNonNull(lookup, "Header lookup may not be null!")));
     }
 
     /**
@@ -99,11 +140,179 @@ public final class Headers implements Serializable {
      * @return the new Headers object
      */
     public static Headers empty() {
-        return new Headers(new HashMap<>());
+        return EMPTY;
+    }
+
+    /**
+     * Create a headers object with some headers replaced.
+     *
+     * <p>The existing header values are shared rather than copied.
+     *
+     * @param values the header values that replace existing values for the same header names
+     * @return the new Headers object
+     */
+    Headers overlay(final Map<String, List<String>> values) {
+        return new Headers(new OverlayStore(store, new CompactStore(values)));
+    }
+
+    private Headers(final Store store) {
+        this.store = store;
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        final NavigableMap<String, List<String>> data = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (final Map.Entry<String, List<String>> entry : asMap().entrySet()) {
+            data.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        final ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("data", data);
+        out.writeFields();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        final ObjectInputStream.GetField fields = in.readFields();
+        final Map<String, List<String>> data = (Map<String, List<String>>) fields.get("data", null);
+        this.store = new CompactStore(data == null ? Collections.emptyMap() : data);
+    }
+
+    /**
+     * The underlying storage of header values.
+     */
+    private interface Store {
+
+        /**
+         * Get the values of a header, ignoring case.
+         *
+         * @param name the header name
+         * @return the unmodifiable header values, or {@code null} if the header is absent
+         */
+        List<String> get(String name);
+
+        /**
+         * Get the header names.
+         *
+         * @return the header names
+         */
+        Set<String> names();
+    }
+
+    /**
+     * Header values held in flat arrays.
+     *
+     * <p>Responses carry few enough headers that a linear scan is cheaper than a tree or hash lookup.
+     * Names keep the case in which they were first supplied.
+     */
+    private static final class CompactStore implements Store {
+
+        private final String[] names;
+        private final List<String>[] values;
+        private final int size;
+
+        @SuppressWarnings("unchecked")
+        CompactStore(final Map<String, List<String>> headers) {
+            final String[] headerNames = new String[headers.size()];
+            final List<String>[] headerValues = new List[headers.size()];
+            int count = 0;
+            for (final Map.Entry<String, List<String>> entry : headers.entrySet()) {
+                final String name = entry.getKey();
+                final List<String> value = entry.getValue() == null ? Collections.emptyList()
+                    : Collections.unmodifiableList(entry.getValue());
+                final int index = indexOf(headerNames, count, name);
+                if (index >= 0) {
+                    headerValues[index] = value;
+                } else {
+                    headerNames[count] = name;
+                    headerValues[count] = value;
+                    count++;
+                }
+            }
+            this.names = headerNames;
+            this.values = headerValues;
+            this.size = count;
+        }
+
+        @Override
+        public List<String> get(final String name) {
+            final int index = indexOf(names, size, name);
+            return index >= 0 ? values[index] : null;
+        }
+
+        @Override
+        public Set<String> names() {
+            final Set<String> headerNames = new LinkedHashSet<>();
+            for (int i = 0; i < size; i++) {
+                headerNames.add(names[i]);
+            }
+            return headerNames;
+        }
+
+        static int indexOf(final String[] names, final int size, final String name) {
+            for (int i = 0; i < size; i++) {
+                if (names[i].equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Header values layered over another store.
+     */
+    private static final class OverlayStore implements Store {
+
+        private final Store base;
+        private final Store overlay;
+
+        OverlayStore(final Store base, final Store overlay) {
+            this.base = base;
+            this.overlay = overlay;
+        }
+
+        @Override
+        public List<String> get(final String name) {
+            final List<String> values = overlay.get(name);
+            return values != null ? values : base.get(name);
+        }
+
+        @Override
+        public Set<String> names() {
+            final Set<String> headerNames = new LinkedHashSet<>();
+            for (final String name : base.names()) {
+                if (overlay.get(name) == null) {
+                    headerNames.add(name);
+                }
+            }
+            headerNames.addAll(overlay.names());
+            return headerNames;
+        }
     }
 
-    private Headers(final Map<String, List<String>> headers) {
-        this.data.putAll(headers);
+    /**
+     * Header values read from another header structure.
+     */
+    private static final class ViewStore implements Store {
+
+        private final Set<String> names;
+        private final Function<String, List<String>> lookup;
+
+        ViewStore(final Set<String> names, final Function<String, List<String>> lookup) {
+            this.names = names;
+            this.lookup = lookup;
+        }
+
+        @Override
+        public List<String> get(final String name) {
+            // The lookup reports an absent header as an empty list
+            final List<String> values = lookup.apply(name);
+            return values == null || values.isEmpty() ? null : values;
+        }
+
+        @Override
+        public Set<String> names() {
+            return names;
+        }
     }
 
     /**
@@ -30,11 +30,26 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
 import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
 import org.apache.commons.rdf.api.RDF;
 import org.apache.commons.rdf.api.RDFSyntax;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
 
 /**
  * A base class for RDF-based resource mapping.
@@ -51,6 +66,13 @@ public class RDFSource extends WrapperDataset implements Resource {
     private final URI identifier;
     private final RDFSyntax syntax;
     private final Headers headers;
+    private final Object changeLock = new Object();
+    private final Set<Quad> additions = new LinkedHashSet<>();
+    private final Set<Quad> removals = new LinkedHashSet<>();
+    private final Map<BlankNodeOrIRI, Graph> namedGraphs = new ConcurrentHashMap<>();
+    private volatile Graph defaultGraph;
+    private long clearCount;
+    private long clearedAt;
 
     /**
      * Create a new RDF-bearing resource.
@@ -105,6 +127,11 @@ public class RDFSource extends WrapperDataset implements Resource {
         this.headers = headers == null ? Headers.empty() : headers;
         this.identifier = Objects.requireNonNull(identifier, "identifier may not be null!").normalize();
         this.syntax = Objects.requireNonNull(syntax);
+        // A resource created without data or headers is new, and is written in full, so it starts out cleared
+        if (dataset == null && headers == null) {
+            clearCount++;
+            clearedAt = clearCount;
+        }
     }
 
     @Override
@@ -124,12 +151,24 @@ public class RDFSource extends WrapperDataset implements Resource {
 
     @Override
     public InputStream getEntity() throws IOException {
-        try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            serialize(syntax, out);
-            return new ByteArrayInputStream(out.toByteArray());
+        try (final EntityOutputStream out = new EntityOutputStream()) {
+            writeEntity(out);
+            return out.toInputStream();
         }
     }
 
+    /**
+     * Write the serialized entity of this resource directly to an output stream.
+     *
+     * <p>Unlike {@link #getEntity()}, this does not buffer the serialized resource in memory.
+     *
+     * @param out the output stream
+     * @throws IOException in the case of an I/O error
+     */
+    public void writeEntity(final OutputStream out) throws IOException {
+        serialize(syntax, out);
+    }
+
     /**
      * Serialize this object with a defined RDF syntax.
      *
@@ -141,6 +180,194 @@ public class RDFSource extends WrapperDataset implements Resource {
         ServiceProvider.getRdfService().fromDataset(this, syntax, out);
     }
 
+    /**
+     * Get the quads that have been added to this resource since it was created or since changes were last reset.
+     *
+     * <p>Changes are tracked for all modifications made through this object, including modifications made
+     * through the graphs returned by {@link #getGraph()} and {@link #getGraph(BlankNodeOrIRI)}. Modifications
+     * made directly to the dataset that was passed to the constructor are not tracked.
+     *
+     * <p>A resource that is created without a dataset or headers, or that has been cleared, is written in full,
+     * so no individual changes are tracked until its changes are reset; see {@link Changes#isCleared()}.
+     *
+     * @return a snapshot of the added quads
+     */
+    public Set<Quad> getAdditions() {
+        synchronized (changeLock) {
+            return Collections.unmodifiableSet(new LinkedHashSet<>(additions));
+        }
+    }
+
+    /**
+     * Get the quads that have been removed from this resource since it was created or since changes were last
+     * reset.
+     *
+     * <p>Quads removed by {@link #clear()} are not tracked individually; see {@link Changes#isCleared()}.
+     *
+     * @return a snapshot of the removed quads
+     * @see #getAdditions()
+     */
+    public Set<Quad> getRemovals() {
+        synchronized (changeLock) {
+            return Collections.unmodifiableSet(new LinkedHashSet<>(removals));
+        }
+    }
+
+    /**
+     * Get a consistent snapshot of the tracked changes.
+     *
+     * <p>The snapshot can later be passed to {@link #resetChanges(Changes)} once it has been written to a server.
+     *
+     * @return the tracked changes
+     */
+    public Changes getChanges() {
+        synchronized (changeLock) {
+            return new Changes(new LinkedHashSet<>(additions), new LinkedHashSet<>(removals), clearedAt);
+        }
+    }
+
+    /**
+     * Reset the tracked changes, for instance, after this resource has been written to a server.
+     */
+    public void resetChanges() {
+        synchronized (changeLock) {
+            additions.clear();
+            removals.clear();
+            clearedAt = 0;
+        }
+    }
+
+    /**
+     * Reset a snapshot of the tracked changes once it has been written to a server.
+     *
+     * <p>Unlike {@link #resetChanges()}, changes made after the snapshot was taken, for instance while a request
+     * was in flight, remain tracked.
+     *
+     * @param written the changes that were written
+     */
+    public void resetChanges(final Changes written) {
+        Objects.requireNonNull(written, "Changes may not be null!");
+        synchronized (changeLock) {
+            // Reconcile each written change against the current state of the dataset
+            for (final Quad quad : written.additions) {
+                additions.remove(quad);
+                if (!super.contains(quad)) {
+                    removals.add(quad);
+                }
+            }
+            for (final Quad quad : written.removals) {
+                removals.remove(quad);
+                if (super.contains(quad)) {
+                    additions.add(quad);
+                }
+            }
+            if (clearedAt == written.clearedAt) {
+                clearedAt = 0;
+            }
+        }
+    }
+
+    @Override
+    public void add(final Quad quad) {
+        synchronized (changeLock) {
+            trackAddition(quad);
+            super.add(quad);
+        }
+    }
+
+    @Override
+    public void add(final BlankNodeOrIRI graphName, final BlankNodeOrIRI subject, final IRI predicate,
+            final RDFTerm object) {
+        synchronized (changeLock) {
+            trackAddition(rdf.createQuad(graphName, subject, predicate, object));
+            super.add(graphName, subject, predicate, object);
+        }
+    }
+
+    @Override
+    public void remove(final Quad quad) {
+        synchronized (changeLock) {
+            if (isTracking()) {
+                trackRemovals(Stream.of(quad));
+            }
+            super.remove(quad);
+        }
+    }
+
+    @Override
+    public void remove(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate,
+            final RDFTerm object) {
+        synchronized (changeLock) {
+            if (isTracking()) {
+                trackRemovals(super.stream(graphName, subject, predicate, object));
+            }
+            super.remove(graphName, subject, predicate, object);
+        }
+    }
+
+    /**
+     * Remove all quads from this resource.
+     *
+     * <p>Rather than recording every quad as a removal, the resource is marked as cleared, so that it is
+     * written with a full replacement.
+     */
+    @Override
+    public void clear() {
+        synchronized (changeLock) {
+            additions.clear();
+            removals.clear();
+            clearCount++;
+            clearedAt = clearCount;
+            super.clear();
+        }
+    }
+
+    @Override
+    public Graph getGraph() {
+        Graph graph = defaultGraph;
+        if (graph == null) {
+            graph = new TrackingGraph(null, super.getGraph());
+            defaultGraph = graph;
+        }
+        return graph;
+    }
+
+    @Override
+    public Optional<Graph> getGraph(final BlankNodeOrIRI graphName) {
+        if (graphName == null) {
+            return super.getGraph(null).map(graph -> new TrackingGraph(null, graph));
+        }
+        final Graph cached = namedGraphs.get(graphName);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return super.getGraph(graphName)
+            .map(graph -> namedGraphs.computeIfAbsent(graphName, name -> new TrackingGraph(name, graph)));
+    }
+
+    // Individual changes are only needed while the resource may be written as a patch
+    boolean isTracking() {
+        return clearedAt == 0;
+    }
+
+    void trackAddition(final Quad quad) {
+        if (isTracking() && !removals.remove(quad) && !super.contains(quad)) {
+            additions.add(quad);
+        }
+    }
+
+    void trackRemovals(final Stream<? extends Quad> quads) {
+        final List<Quad> matches;
+        try (final Stream<? extends Quad> stream = quads) {
+            matches = stream.collect(Collectors.toList());
+        }
+        for (final Quad quad : matches) {
+            if (!additions.remove(quad) && super.contains(quad)) {
+                removals.add(quad);
+            }
+        }
+    }
+
     /**
      * Validate the dataset for this object.
      *
@@ -162,4 +389,147 @@ public class RDFSource extends WrapperDataset implements Resource {
             throw new InruptClientException("Error closing dataset", ex);
         }
     }
+
+    /**
+     * A snapshot of the changes tracked by an {@link RDFSource}.
+     */
+    public static final class Changes {
+
+        private final Set<Quad> additions;
+        private final Set<Quad> removals;
+        private final long clearedAt;
+
+        Changes(final Set<Quad> additions, final Set<Quad> removals, final long clearedAt) {
+            this.additions = Collections.unmodifiableSet(additions);
+            this.removals = Collections.unmodifiableSet(removals);
+            this.clearedAt = clearedAt;
+        }
+
+        /**
+         * Get the added quads.
+         *
+         * @return the added quads
+         */
+        public Set<Quad> getAdditions() {
+            return additions;
+        }
+
+        /**
+         * Get the removed quads.
+         *
+         * @return the removed quads
+         */
+        public Set<Quad> getRemovals() {
+            return removals;
+        }
+
+        /**
+         * Indicate whether the resource was cleared, in which case it must be written in full.
+         *
+         * <p>A resource that was created without a dataset or headers counts as cleared until its changes are
+         * first reset.
+         *
+         * @return true if the resource was cleared since changes were last reset
+         */
+        public boolean isCleared() {
+            return clearedAt != 0;
+        }
+
+        /**
+         * Indicate whether there are no changes.
+         *
+         * @return true if nothing has changed
+         */
+        public boolean isEmpty() {
+            return additions.isEmpty() && removals.isEmpty() && !isCleared();
+        }
+    }
+
+    /**
+     * A graph view that records changes on the enclosing resource.
+     */
+    final class TrackingGraph implements Graph {
+
+        private final BlankNodeOrIRI graphName;
+        private final Graph graph;
+
+        TrackingGraph(final BlankNodeOrIRI graphName, final Graph graph) {
+            this.graphName = graphName;
+            this.graph = graph;
+        }
+
+        @Override
+        public void add(final Triple triple) {
+            add(triple.getSubject(), triple.getPredicate(), triple.getObject());
+        }
+
+        @Override
+        public void add(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+            synchronized (changeLock) {
+                trackAddition(rdf.createQuad(graphName, subject, predicate, object));
+                graph.add(subject, predicate, object);
+            }
+        }
+
+        @Override
+        public boolean contains(final Triple triple) {
+            return graph.contains(triple);
+        }
+
+        @Override
+        public boolean contains(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+            return graph.contains(subject, predicate, object);
+        }
+
+        @Override
+        public void remove(final Triple triple) {
+            remove(triple.getSubject(), triple.getPredicate(), triple.getObject());
+        }
+
+        @Override
+        public void remove(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+            synchronized (changeLock) {
+                if (isTracking()) {
+                    trackRemovals(graph.stream(subject, predicate, object).map(triple -> rdf.createQuad(graphName,
+                                    triple.getSubject(), triple.getPredicate(), triple.getObject())));
+                }
+                graph.remove(subject, predicate, object);
+            }
+        }
+
+        @Override
+        public void clear() {
+            remove(null, null, null);
+        }
+
+        @Override
+        public long size() {
+            return graph.size();
+        }
+
+        @Override
+        public Stream<? extends Triple> stream() {
+            return graph.stream();
+        }
+
+        @Override
+        public Stream<? extends Triple> stream(final BlankNodeOrIRI subject, final IRI predicate,
+                final RDFTerm object) {
+            return graph.stream(subject, predicate, object);
+        }
+
+        @Override
+        public void close() throws Exception {
+            graph.close();
+        }
+    }
+
+    /**
+     * A byte array output stream whose buffer can be read without copying it.
+     */
+    static final class EntityOutputStream extends ByteArrayOutputStream {
+        InputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
 }
@@ -24,6 +24,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.ByteBuffer;
@@ -96,6 +97,21 @@ public final class Request {
         return Optional.ofNullable(requestTimeout);
     }
 
+    /**
+     * Create a copy of this request with some headers replaced.
+     *
+     * <p>The URI, method, body and timeout of this request are reused, and the existing headers are shared
+     * rather than copied, which makes this cheaper than building a new request.
+     *
+     * @param headers the header values that replace any existing values for the same header names
+     * @return the new request
+     */
+    public Request withHeaders(final Map<String, List<String>> headers) {
+        return new Request(requestUri, requestMethod,
+                requestHeaders.overlay(Objects.requireNonNull(headers, "Request headers may not be null!")),
+                publisher, requestTimeout);
+    }
+
     /**
      * Creates a {@link Request} builder.
      *
@@ -124,6 +140,15 @@ public final class Request {
         this.publisher = publisher;
     }
 
+    private Request(final URI uri, final String method, final Headers headers, final BodyPublisher publisher,
+            final Duration timeout) {
+        this.requestUri = uri;
+        this.requestMethod = method;
+        this.requestHeaders = headers;
+        this.requestTimeout = timeout;
+        this.publisher = publisher;
+    }
+
     /**
      * An API for serializing an HTTP Request.
      */
@@ -139,9 +164,41 @@ public final class Request {
         /**
          * Get the length of the HTTP Request.
          *
+         * <p>A negative value indicates that the length is not known in advance, in which case HTTP bindings
+         * should stream the body via {@link #writeTo(OutputStream)} rather than buffering it.
+         *
          * @return the request length
          */
         long contentLength();
+
+        /**
+         * Write the HTTP Request body to an output stream.
+         *
+         * @param output the output stream
+         * @throws IOException in the case of an error when writing the body
+         */
+        default void writeTo(final OutputStream output) throws IOException {
+            final ByteBuffer buffer = getBytes();
+            output.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+    }
+
+    /**
+     * A function that writes an HTTP Request body to an output stream.
+     */
+    @FunctionalInterface
+    public interface BodyWriter {
+
+        /**
+         * Write the request body.
+         *
+         * <p>This method may be called more than once, for instance if a request is retried, and it must
+         * produce the same body each time.
+         *
+         * @param output the output stream
+         * @throws IOException in the case of an error when writing the body
+         */
+        void write(OutputStream output) throws IOException;
     }
 
     /**
@@ -183,6 +240,18 @@ public final class Request {
             }
         }
 
+        /**
+         * Create a {@link BodyPublisher} that writes the request body directly to the outgoing request.
+         *
+         * <p>The body is not buffered in memory, and its length is not known in advance.
+         *
+         * @param writer the body writer
+         * @return the publisher
+         */
+        public static BodyPublisher ofWriter(final BodyWriter writer) {
+            return new StreamingPublisher(writer);
+        }
+
         /**
          * Create an empty {@link BodyPublisher}.
          *
@@ -93,6 +93,20 @@ public interface Response<T> {
          * @return the body
          */
         ByteBuffer body();
+
+        /**
+         * Retrieve the response body as an input stream.
+         *
+         * <p>HTTP bindings may override this method so that the body is read directly from the
+         * underlying connection as it arrives, rather than being buffered in memory first. In that
+         * case, the stream is only valid for the duration of the {@link BodyHandler#apply} call and
+         * the body may be consumed only once, either via this method or via {@link #body()}.
+         *
+         * @return the body
+         */
+        default InputStream bodyAsStream() {
+            return new ByteArrayInputStream(body().array());
+        }
     }
 
     /**
@@ -26,8 +26,11 @@ import java.net.URI;
 import java.security.KeyPair;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * An abstraction for working with OAuth 2.0 Demonstrating Proof-of-Possession at the Application Layer (DPoP).
@@ -46,6 +49,56 @@ public interface DPoP {
      */
     String generateProof(String algorithm, URI uri, String method);
 
+    /**
+     * Generate a DPoP proof for a given URI and method pair, including a server-provided nonce.
+     *
+     * <p>Implementations that do not support server-provided nonces ignore the nonce value.
+     *
+     * @param algorithm the algorithm to use
+     * @param uri the HTTP URI
+     * @param method the HTTP method
+     * @param nonce the nonce value provided by the server, may be {@code null}
+     * @return the DPoP Proof, serialized as a Base64-encoded string, suitable for use with HTTP headers
+     */
+    default String generateProof(final String algorithm, final URI uri, final String method, final String nonce) {
+        return generateProof(algorithm, uri, method);
+    }
+
+    /**
+     * Generate a DPoP proof for a given URI and method pair, asynchronously.
+     *
+     * <p>By default, the proof is generated on the calling thread. Implementations may sign proofs
+     * elsewhere, so that cryptographic operations do not delay the caller.
+     *
+     * @param algorithm the algorithm to use
+     * @param uri the HTTP URI
+     * @param method the HTTP method
+     * @return the next stage of completion, containing the serialized DPoP proof
+     */
+    default CompletionStage<String> generateProofAsync(final String algorithm, final URI uri, final String method) {
+        return generateProofAsync(algorithm, uri, method, null);
+    }
+
+    /**
+     * Generate a DPoP proof for a given URI and method pair, including a server-provided nonce, asynchronously.
+     *
+     * @param algorithm the algorithm to use
+     * @param uri the HTTP URI
+     * @param method the HTTP method
+     * @param nonce the nonce value provided by the server, may be {@code null}
+     * @return the next stage of completion, containing the serialized DPoP proof
+     */
+    default CompletionStage<String> generateProofAsync(final String algorithm, final URI uri, final String method,
+            final String nonce) {
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        try {
+            future.complete(generateProof(algorithm, uri, method, nonce));
+        } catch (final RuntimeException ex) {
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
     /**
      * Return a collection of the supported algorithm names.
      *
@@ -87,5 +140,36 @@ public interface DPoP {
     static DPoP of(final Map<String, KeyPair> keypairs) {
         return ServiceProvider.getDpopService().ofKeyPairs(keypairs);
     }
+
+    /**
+     * Create a DPoP manager that generates a keypair for a particular algorithm.
+     *
+     * <p>Algorithms such as {@code EdDSA} are considerably cheaper to sign with than {@code ES256},
+     * but must also be accepted by the servers in use.
+     *
+     * @param algorithm the algorithm, e.g. {@code ES256}, {@code PS256} or {@code EdDSA}
+     * @param provider the name of the JCA provider, may be {@code null} for the default provider
+     * @return the DPoP manager
+     */
+    static DPoP of(final String algorithm, final String provider) {
+        return ServiceProvider.getDpopService().ofKeyPairs(Collections.emptyMap(),
+                Objects.requireNonNull(algorithm, "algorithm may not be null!"), provider);
+    }
+
+    /**
+     * Create a DPoP manager that supports some number of keypairs, using a particular JCA provider for signatures.
+     *
+     * <p>The default algorithm is taken from the first supplied keypair. An {@code ES256} keypair is generated
+     * only if no keypairs are supplied.
+     *
+     * @param keypairs the keypairs, keyed by algorithm
+     * @param provider the name of the JCA provider, may be {@code null} for the default provider
+     * @return the DPoP manager
+     */
+    static DPoP of(final Map<String, KeyPair> keypairs, final String provider) {
+        final String algorithm = Objects.requireNonNull(keypairs, "keypairs may not be null!").keySet().stream()
+            .findFirst().orElse("ES256");
+        return ServiceProvider.getDpopService().ofKeyPairs(keypairs, algorithm, provider);
+    }
 }
 
@@ -0,0 +1,91 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.auth;
+
+import com.inrupt.client.Headers;
+
+import java.net.URI;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A cache of server-provided DPoP nonces, keyed by origin.
+ *
+ * <p>Servers may require DPoP proofs to contain a nonce value, which is communicated in a {@code DPoP-Nonce}
+ * response header. Keeping the latest value for each origin allows new proofs to include that nonce
+ * up front, rather than having each request rejected with a {@code use_dpop_nonce} error.
+ *
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc9449#section-8">RFC 9449, Section 8</a>
+ */
+public final class DPoPNonceCache {
+
+    /** The response header used to provide a DPoP nonce. */
+    public static final String DPOP_NONCE = "DPoP-Nonce";
+
+    /** The error code used when a server requires a DPoP nonce. */
+    public static final String USE_DPOP_NONCE = "use_dpop_nonce";
+
+    private final ConcurrentMap<String, String> nonces = new ConcurrentHashMap<>();
+
+    /**
+     * Get the most recent nonce for the origin of a URI.
+     *
+     * @param uri the request URI
+     * @return the nonce, if available
+     */
+    public Optional<String> get(final URI uri) {
+        return Optional.ofNullable(nonces.get(origin(uri)));
+    }
+
+    /**
+     * Record the nonce, if any, from a set of response headers.
+     *
+     * @param uri the request URI
+     * @param headers the response headers
+     * @return the nonce from the response, if present
+     */
+    public Optional<String> update(final URI uri, final Headers headers) {
+        final Optional<String> nonce = headers.firstValue(DPOP_NONCE);
+        nonce.ifPresent(value -> nonces.put(origin(uri), value));
+        return nonce;
+    }
+
+    static String origin(final URI uri) {
+        Objects.requireNonNull(uri, "uri may not be null!");
+        final String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase(Locale.ENGLISH) : "";
+        final String host = uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ENGLISH) : "";
+        return scheme + "://" + host + ":" + port(scheme, uri.getPort());
+    }
+
+    static int port(final String scheme, final int port) {
+        if (port == -1) {
+            if ("https".equals(scheme)) {
+                return 443;
+            } else if ("http".equals(scheme)) {
+                return 80;
+            }
+        }
+        return port;
+    }
+}
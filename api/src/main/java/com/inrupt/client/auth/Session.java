@@ -28,6 +28,7 @@ import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
 /**
@@ -84,6 +85,40 @@ public interface Session {
      */
     Optional<String> generateProof(String jkt, Request request);
 
+    /**
+     * Generate a proof for a request, asynchronously.
+     *
+     * <p>By default, the proof is generated on the calling thread.
+     *
+     * @param jkt the JSON Key thumbprint for the proof key
+     * @param request the request
+     * @return the next stage of completion, containing a proof token, if available
+     */
+    default CompletionStage<Optional<String>> generateProofAsync(final String jkt, final Request request) {
+        final CompletableFuture<Optional<String>> future = new CompletableFuture<>();
+        try {
+            future.complete(generateProof(jkt, request));
+        } catch (final RuntimeException ex) {
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
+    /**
+     * Generate a proof for a request that includes a server-provided nonce, asynchronously.
+     *
+     * <p>By default, the nonce is ignored.
+     *
+     * @param jkt the JSON Key thumbprint for the proof key
+     * @param request the request
+     * @param nonce the nonce value provided by the server, may be {@code null}
+     * @return the next stage of completion, containing a proof token, if available
+     */
+    default CompletionStage<Optional<String>> generateProofAsync(final String jkt, final Request request,
+            final String nonce) {
+        return generateProofAsync(jkt, request);
+    }
+
     /**
      * Select the thumbprint from a set of candidate algorithms.
      *
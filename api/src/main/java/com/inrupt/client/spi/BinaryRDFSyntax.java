@@ -0,0 +1,78 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.spi;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFSyntax;
+
+/**
+ * Binary RDF syntaxes, which are considerably cheaper to parse than their textual counterparts.
+ *
+ * <p>These syntaxes are not defined by the W3C, and support for them depends on the {@link RdfService}
+ * implementation in use. See {@link RdfService#getBinarySyntaxes()}.
+ */
+public enum BinaryRDFSyntax implements RDFSyntax {
+
+    /** The Apache Jena RDF Thrift syntax. */
+    RDF_THRIFT("RDF Thrift", "application/rdf+thrift", ".rt",
+            "https://jena.apache.org/documentation/io/rdf-binary.html"),
+
+    /** The Eclipse RDF4J Binary RDF syntax. */
+    RDF4J_BINARY("RDF4J Binary RDF", "application/x-binary-rdf", ".brf",
+            "https://rdf4j.org/documentation/reference/rdf4j-binary/");
+
+    private final String title;
+    private final String mediaType;
+    private final String fileExtension;
+    private final String iri;
+
+    BinaryRDFSyntax(final String title, final String mediaType, final String fileExtension, final String iri) {
+        this.title = title;
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+        this.iri = iri;
+    }
+
+    @Override
+    public String title() {
+        return title;
+    }
+
+    @Override
+    public String mediaType() {
+        return mediaType;
+    }
+
+    @Override
+    public String fileExtension() {
+        return fileExtension;
+    }
+
+    @Override
+    public boolean supportsDataset() {
+        return true;
+    }
+
+    @Override
+    public IRI iri() {
+        return RDFFactory.getInstance().createIRI(iri);
+    }
+}
@@ -37,4 +37,18 @@ public interface DpopService {
      * @return the DPoP manager
      */
     DPoP ofKeyPairs(Map<String, KeyPair> keypairs);
+
+    /**
+     * Create a DPoP manager with a collection of keypairs, using a particular JCA provider for signatures.
+     *
+     * <p>Implementations that do not support these options ignore them.
+     *
+     * @param keypairs the keypairs, may be empty
+     * @param algorithm the algorithm for which a keypair is generated if no keypairs are provided
+     * @param provider the name of the JCA provider, may be {@code null} for the default provider
+     * @return the DPoP manager
+     */
+    default DPoP ofKeyPairs(final Map<String, KeyPair> keypairs, final String algorithm, final String provider) {
+        return ofKeyPairs(keypairs);
+    }
 }
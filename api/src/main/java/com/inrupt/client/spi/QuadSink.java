@@ -0,0 +1,43 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.spi;
+
+import org.apache.commons.rdf.api.Quad;
+
+/**
+ * A receiver for quads as they are produced by an RDF parser.
+ *
+ * <p>A sink allows large documents to be processed in constant memory: each quad is handed to the sink as soon
+ * as it is parsed, and no model is retained. Triples from triple-based syntaxes are delivered as quads in the
+ * default graph.
+ *
+ * @see RdfService#parse(org.apache.commons.rdf.api.RDFSyntax, java.io.InputStream, String, QuadSink)
+ */
+@FunctionalInterface
+public interface QuadSink {
+
+    /**
+     * Receive a parsed quad.
+     *
+     * @param quad the quad
+     */
+    void accept(Quad quad);
+}
@@ -23,9 +23,14 @@ package com.inrupt.client.spi;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.apache.commons.rdf.api.Dataset;
 import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.Quad;
 import org.apache.commons.rdf.api.RDFSyntax;
 
 /**
@@ -74,4 +79,62 @@ public interface RdfService {
      * @throws IOException when there is an error parsing the graph
      */
     Graph toGraph(RDFSyntax syntax, InputStream input, String baseUri) throws IOException;
+
+    /**
+     * Get the binary RDF syntaxes supported by this service, in order of preference.
+     *
+     * <p>Binary syntaxes are not required, and the default implementation returns an empty list.
+     *
+     * @return the supported binary syntaxes
+     */
+    default List<RDFSyntax> getBinarySyntaxes() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Find a syntax supported by this service for the given media type.
+     *
+     * <p>This considers both the W3C RDF syntaxes and any binary syntaxes supported by this service.
+     * Media type parameters, such as {@code charset}, are ignored.
+     *
+     * @param mediaType the media type
+     * @return the syntax, if one is available
+     */
+    default Optional<RDFSyntax> getSyntax(final String mediaType) {
+        if (mediaType == null) {
+            return Optional.empty();
+        }
+        final Optional<RDFSyntax> syntax = RDFSyntax.byMediaType(mediaType);
+        if (syntax.isPresent()) {
+            return syntax;
+        }
+        final String type = mediaType.split(";", 2)[0].trim();
+        return getBinarySyntaxes().stream().filter(s -> s.mediaTypes().stream().anyMatch(type::equalsIgnoreCase))
+            .findFirst();
+    }
+
+    /**
+     * Parse an input stream, pushing each quad to a sink as it is read.
+     *
+     * <p>Unlike {@link #toDataset} and {@link #toGraph}, this method does not build an in-memory model, so
+     * it can be used to scan large documents in constant memory. Implementations should override the default
+     * method, which parses the input into a dataset before streaming it to the sink.
+     *
+     * @param syntax the concrete RDF syntax
+     * @param input the input stream
+     * @param baseUri the base URI to use in case of relative URIs, may be {@code null}
+     * @param sink the receiver of parsed quads
+     * @throws IOException when there is an error parsing the input
+     */
+    default void parse(final RDFSyntax syntax, final InputStream input, final String baseUri, final QuadSink sink)
+            throws IOException {
+        try (final Dataset dataset = toDataset(syntax, input, baseUri);
+                final Stream<? extends Quad> quads = dataset.stream()) {
+            quads.forEach(sink::accept);
+        } catch (final IOException | RuntimeException ex) {
+            throw ex;
+        } catch (final Exception ex) {
+            throw new IOException("Error closing dataset", ex);
+        }
+    }
 }
@@ -0,0 +1,241 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded, single-producer, single-consumer pipe backed by a ring buffer.
+ *
+ * <p>Unlike {@link java.io.PipedInputStream}, the pipe has no thread affinity: blocked readers and writers are
+ * woken directly when space or data becomes available. A failure on the writing side is reported to the reader,
+ * so that a consumer cannot mistake a failed write for the end of the data.
+ */
+final class BoundedPipe {
+
+    private static final String PIPE_CLOSED = "Pipe closed";
+
+    private final byte[] buffer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final InputStream source = new PipeInputStream();
+    private final OutputStream sink = new PipeOutputStream();
+
+    private int head;
+    private int count;
+    private boolean writerClosed;
+    private boolean readerClosed;
+    private Throwable error;
+
+    BoundedPipe(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Pipe capacity must be a positive number");
+        }
+        this.buffer = new byte[capacity];
+    }
+
+    /**
+     * Get the readable end of the pipe.
+     *
+     * @return the input stream
+     */
+    InputStream source() {
+        return source;
+    }
+
+    /**
+     * Get the writable end of the pipe.
+     *
+     * @return the output stream
+     */
+    OutputStream sink() {
+        return sink;
+    }
+
+    /**
+     * Close the writable end of the pipe with an error, which is reported to the reader.
+     *
+     * @param cause the cause of the failure
+     */
+    void fail(final Throwable cause) {
+        lock.lock();
+        try {
+            error = cause;
+            writerClosed = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            while (count == 0 && !writerClosed && !readerClosed) {
+                await(notEmpty);
+            }
+            if (readerClosed) {
+                throw new IOException(PIPE_CLOSED);
+            }
+            if (error != null) {
+                throw new IOException("Error writing piped data", error);
+            }
+            if (count == 0) {
+                return -1;
+            }
+
+            final int n = Math.min(len, count);
+            final int first = Math.min(n, buffer.length - head);
+            System.arraycopy(buffer, head, b, off, first);
+            System.arraycopy(buffer, 0, b, off + first, n - first);
+            head = (head + n) % buffer.length;
+            count -= n;
+            notFull.signalAll();
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void write(final byte[] b, final int off, final int len) throws IOException {
+        int written = 0;
+        while (written < len) {
+            lock.lock();
+            try {
+                while (count == buffer.length && !readerClosed && !writerClosed) {
+                    await(notFull);
+                }
+                if (readerClosed || writerClosed) {
+                    throw new IOException(PIPE_CLOSED);
+                }
+
+                final int n = Math.min(len - written, buffer.length - count);
+                final int tail = (head + count) % buffer.length;
+                final int first = Math.min(n, buffer.length - tail);
+                System.arraycopy(b, off + written, buffer, tail, first);
+                System.arraycopy(b, off + written + first, buffer, 0, n - first);
+                count += n;
+                written += n;
+                notEmpty.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    int available() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void closeReader() {
+        lock.lock();
+        try {
+            readerClosed = true;
+            notFull.signalAll();
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void closeWriter() {
+        lock.lock();
+        try {
+            writerClosed = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static void await(final Condition condition) throws InterruptedIOException {
+        try {
+            condition.await();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting on pipe");
+        }
+    }
+
+    final class PipeInputStream extends InputStream {
+        private final byte[] single = new byte[1];
+
+        @Override
+        public int read() throws IOException {
+            return BoundedPipe.this.read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            return BoundedPipe.this.read(b, off, len);
+        }
+
+        @Override
+        public int available() {
+            return BoundedPipe.this.available();
+        }
+
+        @Override
+        public void close() {
+            closeReader();
+        }
+    }
+
+    final class PipeOutputStream extends OutputStream {
+        private final byte[] single = new byte[1];
+
+        @Override
+        public void write(final int b) throws IOException {
+            single[0] = (byte) b;
+            BoundedPipe.this.write(single, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            BoundedPipe.this.write(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            closeWriter();
+        }
+    }
+}
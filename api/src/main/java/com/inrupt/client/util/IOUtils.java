@@ -23,14 +23,14 @@ package com.inrupt.client.util;
 import com.inrupt.client.Request;
 
 import java.io.ByteArrayOutputStream;
-import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
 import java.io.UncheckedIOException;
-import java.util.concurrent.CompletableFuture;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
@@ -38,62 +38,99 @@ import java.util.function.Consumer;
  */
 public final class IOUtils {
 
+    /** The default capacity of a pipe, in bytes. */
+    public static final int DEFAULT_PIPE_CAPACITY = 64 * 1024;
+
     /**
      * Pipe an output stream to a consumable input stream.
      *
+     * <p>The function is run on a dedicated pool of daemon threads, separate from the common fork-join pool.
+     *
      * @param function the output stream
      * @return a consumable input stream
      */
     public static InputStream pipe(final Consumer<OutputStream> function) {
+        return pipe(function, PipeExecutor.INSTANCE);
+    }
 
-        try {
-            final PipedInputStream sink = new PipedInputStream();
-            final OutputStream source = new PipedOutputStream(sink);
-
-            CompletableFuture
-                .runAsync(() -> function.accept(source))
-                .whenComplete((x, err) -> closeUnchecked(source));
-
-            return sink;
-        } catch (final IOException ex) {
-            throw new UncheckedIOException("Error piping data across threads", ex);
-        }
+    /**
+     * Pipe an output stream to a consumable input stream, using a custom executor.
+     *
+     * @param function the output stream
+     * @param executor the executor on which the function is run
+     * @return a consumable input stream
+     */
+    public static InputStream pipe(final Consumer<OutputStream> function, final Executor executor) {
+        return pipe(function, executor, DEFAULT_PIPE_CAPACITY);
     }
 
     /**
-     * Close an I/O stream.
+     * Pipe an output stream to a consumable input stream, using a custom executor and buffer capacity.
      *
-     * <p>Note: Useful in lambda functions
+     * <p>The function blocks when the buffer is full until the input stream has been read. If the function fails,
+     * the failure is reported as an {@link IOException} when reading from the input stream. Closing the input
+     * stream early causes further writes by the function to fail.
      *
-     * @param stream the I/O stream
+     * @param function the output stream
+     * @param executor the executor on which the function is run
+     * @param capacity the buffer capacity, in bytes
+     * @return a consumable input stream
      */
-    static void closeUnchecked(final Closeable stream) {
-        try {
-            stream.close();
-        } catch (final IOException ex) {
-            throw new UncheckedIOException("Error closing I/O stream", ex);
-        }
+    public static InputStream pipe(final Consumer<OutputStream> function, final Executor executor,
+            final int capacity) {
+        Objects.requireNonNull(function, "Pipe function may not be null!");
+        Objects.requireNonNull(executor, "Pipe executor may not be null!");
+
+        final BoundedPipe pipe = new BoundedPipe(capacity);
+        executor.execute(() -> {
+            try {
+                function.accept(pipe.sink());
+                pipe.closeWriter();
+            } catch (final RuntimeException ex) {
+                pipe.fail(ex);
+            } catch (final Error err) {
+                // Fail the pipe so that the reader does not block forever, then let the error propagate
+                pipe.fail(err);
+                throw err;
+            }
+        });
+        return pipe.source();
     }
 
     /**
      * Stream a request body directly from a consuming function.
      *
+     * <p>The function writes to the outgoing request as it is sent, so the body is never held in memory and its
+     * length is not known in advance. The function may be invoked more than once, for instance if a request is
+     * retried, and it must produce the same body each time.
+     *
      * @param function the consuming function
      * @return the request publisher
      */
     public static Request.BodyPublisher stream(final Consumer<OutputStream> function) {
-        try {
-            final PipedInputStream sink = new PipedInputStream();
-            final OutputStream source = new PipedOutputStream(sink);
-
-            CompletableFuture
-                .runAsync(() -> function.accept(source))
-                .whenComplete((x, err) -> closeUnchecked(source));
+        Objects.requireNonNull(function, "Stream function may not be null!");
+        return Request.BodyPublishers.ofWriter(function::accept);
+    }
 
-            return Request.BodyPublishers.ofInputStream(sink);
-        } catch (final IOException ex) {
-            throw new UncheckedIOException("Error piping data across threads", ex);
-        }
+    /**
+     * Stream a request body directly from a consuming function, using a custom executor.
+     *
+     * <p>The function is run on the executor and piped to the outgoing request as it is sent, so the body is
+     * never held in memory beyond the pipe buffer. The function may be invoked more than once, for instance if a
+     * request is retried, and it must produce the same body each time.
+     *
+     * @param function the consuming function
+     * @param executor the executor on which the function is run
+     * @return the request publisher
+     */
+    public static Request.BodyPublisher stream(final Consumer<OutputStream> function, final Executor executor) {
+        Objects.requireNonNull(function, "Stream function may not be null!");
+        Objects.requireNonNull(executor, "Stream executor may not be null!");
+        return Request.BodyPublishers.ofWriter(output -> {
+            try (final InputStream input = pipe(function, executor)) {
+                copy(input, output);
+            }
+        });
     }
 
     /**
@@ -111,6 +148,27 @@ public final class IOUtils {
         }
     }
 
+    private static void copy(final InputStream input, final OutputStream output) throws IOException {
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+        }
+    }
+
+    static final class PipeExecutor {
+        private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+        static final Executor INSTANCE = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "inrupt-pipe-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private PipeExecutor() {
+            // Prevent instantiation
+        }
+    }
+
     private IOUtils() {
         // Prevent instantiation
     }
@@ -0,0 +1,289 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A parser driver for line-based formats, such as N-Triples and N-Quads.
+ *
+ * <p>The input is split into chunks that end on a line boundary. Each chunk is parsed on an executor, and the
+ * results are merged, in input order, on the calling thread. Only a bounded number of chunks are in flight at
+ * any time, so memory use is independent of the input size. Inputs that fit in a single chunk are parsed
+ * directly on the calling thread.
+ *
+ * <p>Splitting an input only pays off for large documents. Callers can use {@link #exceedsThreshold(InputStream)}
+ * to decide whether to use this parser or to stream the input through a conventional, sequential parser.
+ */
+public final class ParallelLineParser {
+
+    /** The default chunk size, in bytes. */
+    public static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    /** The default size threshold, in bytes, below which parallel parsing is not worthwhile. */
+    public static final int DEFAULT_THRESHOLD = 2 * DEFAULT_CHUNK_SIZE;
+
+    private static final byte NEWLINE = '\n';
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Executor executor;
+    private final int parallelism;
+    private final int chunkSize;
+    private final int threshold;
+
+    private ParallelLineParser(final Executor executor, final int parallelism, final int chunkSize,
+            final int threshold) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be a positive number");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be a positive number");
+        }
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold may not be negative");
+        }
+        this.executor = Objects.requireNonNull(executor, "Executor may not be null!");
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Create a parser that uses the common fork-join pool.
+     *
+     * <p>Parsing is CPU-bound and blocks the calling thread, so a dedicated executor, as used by
+     * {@link #ofDefaultExecutor()}, is generally preferable.
+     *
+     * @return the parser
+     */
+    public static ParallelLineParser ofCommonPool() {
+        return new ParallelLineParser(ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism(),
+                DEFAULT_CHUNK_SIZE, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Create a parser that uses a shared executor of daemon threads, dedicated to parsing.
+     *
+     * @return the parser
+     */
+    public static ParallelLineParser ofDefaultExecutor() {
+        return new ParallelLineParser(ParserExecutor.INSTANCE, ParserExecutor.PARALLELISM, DEFAULT_CHUNK_SIZE,
+                DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Create a parser that uses a custom executor.
+     *
+     * @param executor the executor on which chunks are parsed
+     * @param parallelism the maximum number of chunks parsed concurrently
+     * @param chunkSize the target chunk size, in bytes
+     * @return the parser
+     */
+    public static ParallelLineParser of(final Executor executor, final int parallelism, final int chunkSize) {
+        return new ParallelLineParser(executor, parallelism, chunkSize, chunkSize);
+    }
+
+    /**
+     * Create a parser that uses a custom executor and size threshold.
+     *
+     * @param executor the executor on which chunks are parsed
+     * @param parallelism the maximum number of chunks parsed concurrently
+     * @param chunkSize the target chunk size, in bytes
+     * @param threshold the input size, in bytes, below which parallel parsing is not worthwhile
+     * @return the parser
+     */
+    public static ParallelLineParser of(final Executor executor, final int parallelism, final int chunkSize,
+            final int threshold) {
+        return new ParallelLineParser(executor, parallelism, chunkSize, threshold);
+    }
+
+    /**
+     * Determine whether an input stream is large enough to be worth parsing in parallel.
+     *
+     * <p>At most the threshold number of bytes are read ahead. The stream must support
+     * {@link InputStream#mark(int)}, and it is reset to its original position before this method returns.
+     *
+     * @param input the input stream
+     * @return true if the input is at least as large as the size threshold
+     * @throws IOException when there is an error reading the input
+     */
+    public boolean exceedsThreshold(final InputStream input) throws IOException {
+        if (!input.markSupported()) {
+            throw new IllegalArgumentException("Input stream must support mark and reset");
+        }
+        input.mark(threshold);
+        try {
+            final byte[] buffer = new byte[Math.min(threshold, BUFFER_SIZE)];
+            long remaining = threshold;
+            while (remaining > 0) {
+                final int read = input.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    return false;
+                }
+                remaining -= read;
+            }
+            return true;
+        } finally {
+            input.reset();
+        }
+    }
+
+    /**
+     * Parse an input stream.
+     *
+     * <p>Runtime exceptions thrown by the parse or merge functions are rethrown to the caller.
+     *
+     * @param input the input stream
+     * @param parser a function that parses a single chunk of complete lines
+     * @param merger a consumer that merges the result of each chunk, called on the calling thread
+     * @param <T> the type of a parsed chunk
+     * @throws IOException when there is an error reading the input
+     */
+    public <T> void parse(final InputStream input, final Function<byte[], T> parser, final Consumer<T> merger)
+            throws IOException {
+        final ChunkReader reader = new ChunkReader(input, chunkSize);
+        byte[] chunk = reader.next();
+        if (reader.isDone()) {
+            if (chunk != null) {
+                merger.accept(parser.apply(chunk));
+            }
+            return;
+        }
+
+        final Deque<CompletableFuture<T>> pending = new ArrayDeque<>();
+        try {
+            while (chunk != null) {
+                final byte[] data = chunk;
+                pending.add(CompletableFuture.supplyAsync(() -> parser.apply(data), executor));
+                if (pending.size() >= parallelism) {
+                    merger.accept(await(pending.remove()));
+                }
+                chunk = reader.next();
+            }
+            while (!pending.isEmpty()) {
+                merger.accept(await(pending.remove()));
+            }
+        } finally {
+            pending.forEach(future -> future.cancel(false));
+        }
+    }
+
+    static <T> T await(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            } else if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * A shared executor for parsing, so that CPU-bound parse tasks do not occupy the common fork-join pool.
+     */
+    static final class ParserExecutor {
+        static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+        private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+        static final Executor INSTANCE = Executors.newFixedThreadPool(PARALLELISM, runnable -> {
+            final Thread thread = new Thread(runnable, "inrupt-parser-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private ParserExecutor() {
+            // Prevent instantiation
+        }
+    }
+
+    /**
+     * Reads an input stream in chunks that end on a line boundary.
+     */
+    static final class ChunkReader {
+        private final InputStream input;
+        private final int chunkSize;
+        private byte[] remainder = new byte[0];
+        private boolean eof;
+
+        ChunkReader(final InputStream input, final int chunkSize) {
+            this.input = input;
+            this.chunkSize = chunkSize;
+        }
+
+        boolean isDone() {
+            return eof && remainder.length == 0;
+        }
+
+        byte[] next() throws IOException {
+            if (isDone()) {
+                return null;
+            }
+
+            byte[] buffer = Arrays.copyOf(remainder, remainder.length + chunkSize);
+            int length = remainder.length;
+            int searchFrom = 0;
+            remainder = new byte[0];
+            while (!eof) {
+                final int read = input.read(buffer, length, buffer.length - length);
+                if (read < 0) {
+                    eof = true;
+                } else {
+                    length += read;
+                    if (length == buffer.length) {
+                        final int end = lastNewline(buffer, searchFrom, length);
+                        if (end >= 0) {
+                            remainder = Arrays.copyOfRange(buffer, end + 1, length);
+                            return Arrays.copyOf(buffer, end + 1);
+                        }
+                        // A single line exceeds the chunk size: keep reading until it ends
+                        searchFrom = length;
+                        buffer = Arrays.copyOf(buffer, buffer.length + chunkSize);
+                    }
+                }
+            }
+            return length > 0 ? Arrays.copyOf(buffer, length) : null;
+        }
+
+        static int lastNewline(final byte[] buffer, final int from, final int to) {
+            for (int i = to - 1; i >= from; i--) {
+                if (buffer[i] == NEWLINE) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
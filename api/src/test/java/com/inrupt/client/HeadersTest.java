@@ -0,0 +1,140 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+class HeadersTest {
+
+    @Test
+    void testCaseInsensitiveLookup() {
+        final Map<String, List<String>> data = new HashMap<>();
+        data.put("Content-Type", Collections.singletonList("text/turtle"));
+        data.put("Link", Arrays.asList("<https://example.test/acl>; rel=\"acl\"", "<https://example.test/>"));
+        data.put("X-Custom", Collections.emptyList());
+        final Headers headers = Headers.of(data);
+
+        assertEquals(Optional.of("text/turtle"), headers.firstValue("content-type"));
+        assertEquals(2, headers.allValues("LINK").size());
+        assertEquals(Optional.empty(), headers.firstValue("x-custom"));
+        assertTrue(headers.allValues("ETag").isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> headers.allValues("link").add("value"));
+    }
+
+    @Test
+    void testAsMap() {
+        final Map<String, List<String>> data = new HashMap<>();
+        data.put("Content-Type", Collections.singletonList("text/turtle"));
+        data.put("X-Custom", Collections.singletonList("value"));
+        final Map<String, List<String>> map = Headers.of(data).asMap();
+
+        assertEquals(2, map.size());
+        assertEquals(Collections.singletonList("text/turtle"), map.get("content-type"));
+        assertEquals(Collections.singletonList("value"), map.get("X-CUSTOM"));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove("x-custom"));
+    }
+
+    @Test
+    void testDuplicateNames() {
+        final Map<String, List<String>> data = new TreeMap<>();
+        data.put("ETag", Collections.singletonList("\"1\""));
+        data.put("etag", Collections.singletonList("\"2\""));
+        final Headers headers = Headers.of(data);
+
+        assertEquals(1, headers.asMap().size());
+        assertEquals(Optional.of("\"2\""), headers.firstValue("ETag"));
+    }
+
+    @Test
+    void testNameCase() {
+        final Map<String, List<String>> data = new LinkedHashMap<>();
+        data.put("Content-Type", Collections.singletonList("text/turtle"));
+        data.put("X-Custom", Collections.singletonList("value"));
+        final Headers headers = Headers.of(data);
+
+        assertEquals(Arrays.asList("Content-Type", "X-Custom"), new ArrayList<>(headers.asMap().keySet()));
+        assertEquals(Optional.of("value"), headers.firstValue("x-custom"));
+    }
+
+    @Test
+    void testViewOverlay() {
+        final Map<String, List<String>> data = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        data.put("Content-Type", Collections.singletonList("text/plain"));
+        final Headers headers = Headers.of(data.keySet(),
+                name -> data.getOrDefault(name, Collections.emptyList()))
+            .overlay(Collections.singletonMap("Link", Collections.singletonList("<https://example.com>")));
+
+        assertEquals(Arrays.asList("Content-Type", "Link"), new ArrayList<>(headers.asMap().keySet()));
+    }
+
+    @Test
+    void testView() {
+        final Map<String, List<String>> data = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        data.put("Content-Type", Collections.singletonList("text/plain"));
+        final Headers headers = Headers.of(data.keySet(),
+                name -> data.getOrDefault(name, Collections.emptyList()));
+
+        assertEquals(Optional.of("text/plain"), headers.firstValue("CONTENT-TYPE"));
+        assertTrue(headers.allValues("Link").isEmpty());
+        assertEquals(data, headers.asMap());
+    }
+
+    @Test
+    void testEmpty() {
+        assertTrue(Headers.empty().asMap().isEmpty());
+        assertFalse(Headers.empty().firstValue("Link").isPresent());
+    }
+
+    @Test
+    void testSerialization() throws IOException, ClassNotFoundException {
+        final Map<String, List<String>> data = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        data.put("Content-Type", Collections.singletonList("text/plain"));
+        final Headers headers = Headers.of(data.keySet(),
+                name -> data.getOrDefault(name, Collections.emptyList()));
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(headers);
+        }
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            final Headers copy = (Headers) in.readObject();
+            assertEquals(Optional.of("text/plain"), copy.firstValue("content-type"));
+            assertEquals(data, copy.asMap());
+        }
+    }
+}
@@ -25,7 +25,13 @@ import static org.junit.jupiter.api.Assertions.*;
 import com.inrupt.client.spi.RDFFactory;
 
 import java.net.URI;
+import java.util.Collections;
+import java.util.Optional;
 
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.Quad;
 import org.apache.commons.rdf.api.RDF;
 import org.junit.jupiter.api.Test;
 
@@ -40,4 +46,112 @@ class RDFSourceTest {
             assertDoesNotThrow(() -> resource.validate());
         }
     }
+
+    @Test
+    void testChangeTracking() {
+        final URI id = URI.create("https://resource.test/path");
+        final IRI subject = rdf.createIRI(id.toString());
+        final IRI predicate = rdf.createIRI("https://example.test/title");
+        final Literal original = rdf.createLiteral("Original");
+        final Literal updated = rdf.createLiteral("Updated");
+        final Quad originalQuad = rdf.createQuad(null, subject, predicate, original);
+        final Quad updatedQuad = rdf.createQuad(null, subject, predicate, updated);
+
+        final Dataset dataset = rdf.createDataset();
+        dataset.add(originalQuad);
+
+        try (final RDFSource resource = new RDFSource(id, dataset)) {
+            assertTrue(resource.getAdditions().isEmpty());
+            assertTrue(resource.getRemovals().isEmpty());
+
+            // Changes made through a graph view are tracked
+            resource.getGraph().remove(subject, predicate, null);
+            resource.getGraph().add(subject, predicate, updated);
+            assertEquals(1, resource.getAdditions().size());
+            assertTrue(resource.getAdditions().contains(updatedQuad));
+            assertEquals(1, resource.getRemovals().size());
+            assertTrue(resource.getRemovals().contains(originalQuad));
+
+            // Reverting a change cancels it out
+            resource.remove(updatedQuad);
+            resource.add(originalQuad);
+            assertTrue(resource.getAdditions().isEmpty());
+            assertTrue(resource.getRemovals().isEmpty());
+
+            // Adding an existing quad is not a change
+            resource.add(null, subject, predicate, original);
+            assertTrue(resource.getAdditions().isEmpty());
+
+            resource.remove(Optional.empty(), subject, null, null);
+            assertEquals(1, resource.getRemovals().size());
+            resource.resetChanges();
+            assertTrue(resource.getRemovals().isEmpty());
+
+            resource.add(updatedQuad);
+            resource.clear();
+            assertTrue(resource.getAdditions().isEmpty());
+            assertTrue(resource.getRemovals().isEmpty());
+            assertEquals(0, resource.size());
+        }
+    }
+
+    @Test
+    void testResetChangeSnapshot() {
+        final URI id = URI.create("https://resource.test/path");
+        final IRI subject = rdf.createIRI(id.toString());
+        final IRI predicate = rdf.createIRI("https://example.test/title");
+        final Quad first = rdf.createQuad(null, subject, predicate, rdf.createLiteral("First"));
+        final Quad second = rdf.createQuad(null, subject, predicate, rdf.createLiteral("Second"));
+
+        try (final RDFSource resource = new RDFSource(id, rdf.createDataset())) {
+            resource.add(first);
+            final RDFSource.Changes written = resource.getChanges();
+
+            // Changes made while a write is in flight remain tracked once the snapshot is reset
+            resource.add(second);
+            resource.resetChanges(written);
+            assertEquals(Collections.singleton(second), resource.getAdditions());
+            assertTrue(resource.getRemovals().isEmpty());
+        }
+    }
+
+    @Test
+    void testNewResource() {
+        final URI id = URI.create("https://resource.test/path");
+        final IRI subject = rdf.createIRI(id.toString());
+        final IRI predicate = rdf.createIRI("https://example.test/title");
+
+        try (final RDFSource resource = new RDFSource(id, null)) {
+            // A new resource is written in full, so individual additions are not recorded
+            resource.getGraph().add(subject, predicate, rdf.createLiteral("First"));
+            final RDFSource.Changes changes = resource.getChanges();
+            assertTrue(changes.isCleared());
+            assertTrue(changes.getAdditions().isEmpty());
+
+            // Once written, further changes are tracked through the same graph view
+            resource.resetChanges(changes);
+            resource.getGraph().add(subject, predicate, rdf.createLiteral("Second"));
+            assertEquals(1, resource.getAdditions().size());
+            assertSame(resource.getGraph(), resource.getGraph());
+        }
+    }
+
+    @Test
+    void testClearMarksResource() {
+        final URI id = URI.create("https://resource.test/path");
+        final IRI subject = rdf.createIRI(id.toString());
+        final IRI predicate = rdf.createIRI("https://example.test/title");
+        final Dataset dataset = rdf.createDataset();
+        dataset.add(rdf.createQuad(null, subject, predicate, rdf.createLiteral("Original")));
+
+        try (final RDFSource resource = new RDFSource(id, dataset)) {
+            resource.clear();
+            final RDFSource.Changes changes = resource.getChanges();
+            assertTrue(changes.isCleared());
+            assertTrue(changes.getRemovals().isEmpty());
+
+            resource.resetChanges(changes);
+            assertFalse(resource.getChanges().isCleared());
+        }
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+class RequestTest {
+
+    @Test
+    void testWithHeaders() {
+        final Request.BodyPublisher body = Request.BodyPublishers.ofString("data");
+        final Request request = Request.newBuilder(URI.create("https://example.test/resource"))
+            .header("Accept", "text/turtle")
+            .header("Authorization", "Basic abc")
+            .timeout(Duration.ofSeconds(5))
+            .PUT(body)
+            .build();
+
+        final Request upgraded = request.withHeaders(
+                Collections.singletonMap("authorization", Collections.singletonList("Bearer token")));
+
+        assertEquals(request.uri(), upgraded.uri());
+        assertEquals("PUT", upgraded.method());
+        assertEquals(Optional.of(body), upgraded.bodyPublisher());
+        assertEquals(request.timeout(), upgraded.timeout());
+        assertEquals(Optional.of("text/turtle"), upgraded.headers().firstValue("Accept"));
+        assertEquals(Collections.singletonList("Bearer token"), upgraded.headers().allValues("Authorization"));
+        assertEquals(request.headers().asMap().size(), upgraded.headers().asMap().size());
+        assertEquals(Optional.of("Basic abc"), request.headers().firstValue("Authorization"));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.auth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.inrupt.client.Headers;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+class DPoPNonceCacheTest {
+
+    @Test
+    void testUpdatePerOrigin() {
+        final DPoPNonceCache nonces = new DPoPNonceCache();
+        final URI uri = URI.create("https://Storage.Example/container/resource");
+        assertFalse(nonces.get(uri).isPresent());
+
+        assertEquals(Optional.of("nonce-1"), nonces.update(uri, headers("nonce-1")));
+        assertEquals(Optional.of("nonce-1"), nonces.get(URI.create("https://storage.example:443/other")));
+        assertFalse(nonces.get(URI.create("http://storage.example/container/resource")).isPresent());
+        assertFalse(nonces.get(URI.create("https://storage.example:8443/container/resource")).isPresent());
+    }
+
+    @Test
+    void testUpdateWithoutNonce() {
+        final DPoPNonceCache nonces = new DPoPNonceCache();
+        final URI uri = URI.create("https://storage.example/resource");
+        nonces.update(uri, headers("nonce-1"));
+
+        assertFalse(nonces.update(uri, Headers.empty()).isPresent());
+        assertEquals(Optional.of("nonce-1"), nonces.get(uri));
+        assertEquals(Optional.of("nonce-2"), nonces.update(uri, headers("nonce-2")));
+        assertEquals(Optional.of("nonce-2"), nonces.get(uri));
+    }
+
+    static Headers headers(final String nonce) {
+        return Headers.of(Collections.singletonMap("dpop-nonce", Collections.singletonList(nonce)));
+    }
+}
@@ -20,13 +20,21 @@
  */
 package com.inrupt.client.util;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.inrupt.client.Request;
+
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
@@ -102,6 +110,96 @@ class IOUtilsTest {
         }
     }
 
+    @Test
+    void testPipeCustomExecutor() throws IOException {
+        try (final InputStream res = IOUtilsTest.class.getResourceAsStream(INPUT_DOC)) {
+            final byte[] data = org.apache.commons.io.IOUtils.toByteArray(res);
+            final ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                // A small buffer forces many hand-offs between the producer and consumer
+                final InputStream sink = IOUtils.pipe(source -> produce(source, data, Speed.FAST), executor, 16);
+                assertArrayEquals(data, org.apache.commons.io.IOUtils.toByteArray(sink));
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void testPipeWriterError() {
+        final InputStream sink = IOUtils.pipe(source -> {
+            try {
+                source.write("partial".getBytes(UTF_8));
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            throw new IllegalStateException("Expected error");
+        });
+
+        final IOException err = assertThrows(IOException.class, () -> org.apache.commons.io.IOUtils.toByteArray(sink));
+        assertTrue(err.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    void testPipeWriterFatalError() {
+        final InputStream sink = IOUtils.pipe(source -> {
+            throw new AssertionError("Expected error");
+        }, runnable -> new Thread(runnable).start());
+
+        final IOException err = assertThrows(IOException.class, () -> org.apache.commons.io.IOUtils.toByteArray(sink));
+        assertTrue(err.getCause() instanceof AssertionError);
+    }
+
+    @Test
+    void testPipeReaderClosed() throws Exception {
+        final CompletableFuture<Throwable> result = new CompletableFuture<>();
+        final InputStream sink = IOUtils.pipe(source -> {
+            try {
+                while (true) {
+                    source.write(new byte[1024]);
+                }
+            } catch (final IOException ex) {
+                result.complete(ex);
+            }
+        }, IOUtils.PipeExecutor.INSTANCE, 64);
+
+        assertTrue(sink.read() >= 0);
+        sink.close();
+        assertTrue(result.get(5, TimeUnit.SECONDS) instanceof IOException);
+    }
+
+    @Test
+    void testStreamPublisher() throws IOException {
+        final Request.BodyPublisher publisher = IOUtils.stream(source -> {
+            try {
+                source.write("streamed".getBytes(UTF_8));
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        assertEquals("streamed", new String(publisher.getBytes().array(), UTF_8));
+    }
+
+    @Test
+    void testStreamPublisherNotBuffered() throws IOException {
+        final AtomicInteger calls = new AtomicInteger();
+        final Request.BodyPublisher publisher = IOUtils.stream(source -> {
+            calls.incrementAndGet();
+            try {
+                source.write("streamed".getBytes(UTF_8));
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, IOUtils.PipeExecutor.INSTANCE);
+        assertEquals(0, calls.get());
+        assertEquals(-1, publisher.contentLength());
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        publisher.writeTo(output);
+        assertEquals("streamed", new String(output.toByteArray(), UTF_8));
+        assertEquals(1, calls.get());
+    }
+
     void produce(final OutputStream out, final byte[] data, final Speed speed) {
         try {
             for (int i = 0; i < data.length; i++) {
@@ -0,0 +1,155 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class ParallelLineParserTest {
+
+    static final String INPUT_DOC = "/clarissa.txt";
+
+    static ExecutorService executor;
+
+    @BeforeAll
+    static void setup() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterAll
+    static void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testChunksEndOnLines() throws IOException {
+        final byte[] data = read(INPUT_DOC);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ParallelLineParser.of(executor, 4, 1000).parse(new ByteArrayInputStream(data), chunk -> {
+            assertEquals('\n', chunk[chunk.length - 1]);
+            return chunk;
+        }, chunk -> output.write(chunk, 0, chunk.length));
+
+        assertArrayEquals(data, output.toByteArray());
+    }
+
+    @Test
+    void testLongLines() throws IOException {
+        final String line = new String(new char[250]).replace('\0', 'x') + "\n";
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            builder.append(i).append(line);
+        }
+        final byte[] data = (builder + "no trailing newline").getBytes(UTF_8);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ParallelLineParser.of(executor, 2, 64).parse(new ByteArrayInputStream(data), chunk -> chunk,
+                chunk -> output.write(chunk, 0, chunk.length));
+
+        assertArrayEquals(data, output.toByteArray());
+    }
+
+    @Test
+    void testSingleChunk() throws IOException {
+        final byte[] data = "one\ntwo\n".getBytes(UTF_8);
+        final Thread caller = Thread.currentThread();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ParallelLineParser.ofCommonPool().parse(new ByteArrayInputStream(data), chunk -> {
+            assertSame(caller, Thread.currentThread());
+            return chunk;
+        }, chunk -> output.write(chunk, 0, chunk.length));
+
+        assertArrayEquals(data, output.toByteArray());
+    }
+
+    @Test
+    void testEmptyInput() throws IOException {
+        ParallelLineParser.ofCommonPool().parse(new ByteArrayInputStream(new byte[0]), chunk -> chunk,
+                chunk -> fail("Unexpected chunk"));
+    }
+
+    @Test
+    void testParseError() throws IOException {
+        final byte[] data = read(INPUT_DOC);
+        final ParallelLineParser parser = ParallelLineParser.of(executor, 4, 1000);
+        final InputStream input = new ByteArrayInputStream(data);
+
+        final IllegalStateException err = assertThrows(IllegalStateException.class, () ->
+                parser.parse(input, chunk -> {
+                    throw new IllegalStateException("Invalid chunk");
+                }, chunk -> fail("Unexpected chunk")));
+        assertEquals("Invalid chunk", err.getMessage());
+    }
+
+    @Test
+    void testThreshold() throws IOException {
+        final ParallelLineParser parser = ParallelLineParser.of(executor, 4, 1000, 100);
+        final InputStream small = new BufferedInputStream(new ByteArrayInputStream(new byte[99]));
+        final InputStream large = new BufferedInputStream(new ByteArrayInputStream(new byte[100]));
+
+        assertFalse(parser.exceedsThreshold(small));
+        assertTrue(parser.exceedsThreshold(large));
+        // The input is not consumed
+        assertEquals(100, org.apache.commons.io.IOUtils.toByteArray(large).length);
+        assertThrows(IllegalArgumentException.class, () ->
+                parser.exceedsThreshold(new PipedInputStream()));
+    }
+
+    @Test
+    void testDefaultExecutor() throws IOException {
+        final byte[] data = "one\ntwo\n".getBytes(UTF_8);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ParallelLineParser.ofDefaultExecutor().parse(new ByteArrayInputStream(data), chunk -> chunk,
+                chunk -> output.write(chunk, 0, chunk.length));
+
+        assertArrayEquals(data, output.toByteArray());
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> ParallelLineParser.of(executor, 1, 100, -1));
+        assertThrows(IllegalArgumentException.class, () -> ParallelLineParser.of(executor, 0, 100));
+        assertThrows(IllegalArgumentException.class, () -> ParallelLineParser.of(executor, 1, 0));
+        assertThrows(NullPointerException.class, () -> ParallelLineParser.of(null, 1, 100));
+    }
+
+    static byte[] read(final String resource) throws IOException {
+        try (final InputStream res = ParallelLineParserTest.class.getResourceAsStream(resource)) {
+            return org.apache.commons.io.IOUtils.toByteArray(res);
+        }
+    }
+}
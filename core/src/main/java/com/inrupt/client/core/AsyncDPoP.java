@@ -0,0 +1,253 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.core;
+
+import com.inrupt.client.auth.DPoP;
+
+import java.net.URI;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link DPoP} decorator that signs proofs on a dedicated, bounded pool of threads.
+ *
+ * <p>Proofs requested via {@link #generateProofAsync} are signed on the pool, so that the thread
+ * sending a request is not blocked by the signature computation. When the queue of pending proofs
+ * is full, the proof is signed on the calling thread instead, which limits the amount of queued work.
+ *
+ * <p>The time spent signing each proof is recorded and made available via {@link #getMetrics()}.
+ */
+public final class AsyncDPoP implements DPoP, AutoCloseable {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    private final DPoP dpop;
+    private final ThreadPoolExecutor executor;
+    private final SigningMetrics metrics = new SigningMetrics();
+
+    private AsyncDPoP(final DPoP dpop, final int threads, final int queueCapacity) {
+        this.dpop = Objects.requireNonNull(dpop, "DPoP may not be null!");
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of signing threads must be positive");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("The signing queue capacity must be positive");
+        }
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    final Thread thread = new Thread(runnable, "inrupt-dpop-" + THREAD_COUNT.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // Sign on the calling thread when the queue is full or the pool has been closed
+                (runnable, pool) -> runnable.run());
+    }
+
+    /**
+     * Create an asynchronous DPoP signer with one thread per available processor.
+     *
+     * @param dpop the DPoP manager that holds the proof keys
+     * @return the asynchronous DPoP signer
+     */
+    public static AsyncDPoP of(final DPoP dpop) {
+        return of(dpop, Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Create an asynchronous DPoP signer.
+     *
+     * @param dpop the DPoP manager that holds the proof keys
+     * @param threads the number of signing threads
+     * @param queueCapacity the maximum number of proofs waiting for a signing thread
+     * @return the asynchronous DPoP signer
+     */
+    public static AsyncDPoP of(final DPoP dpop, final int threads, final int queueCapacity) {
+        return new AsyncDPoP(dpop, threads, queueCapacity);
+    }
+
+    @Override
+    public String generateProof(final String algorithm, final URI uri, final String method) {
+        return generateProof(algorithm, uri, method, null);
+    }
+
+    @Override
+    public String generateProof(final String algorithm, final URI uri, final String method, final String nonce) {
+        final long start = System.nanoTime();
+        try {
+            return dpop.generateProof(algorithm, uri, method, nonce);
+        } finally {
+            metrics.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public CompletionStage<String> generateProofAsync(final String algorithm, final URI uri, final String method,
+            final String nonce) {
+        return CompletableFuture.supplyAsync(() -> generateProof(algorithm, uri, method, nonce), executor);
+    }
+
+    @Override
+    public Set<String> algorithms() {
+        return dpop.algorithms();
+    }
+
+    @Override
+    public Optional<String> lookupAlgorithm(final String jkt) {
+        return dpop.lookupAlgorithm(jkt);
+    }
+
+    @Override
+    public Optional<String> lookupThumbprint(final String algorithm) {
+        return dpop.lookupThumbprint(algorithm);
+    }
+
+    /**
+     * Get the signing latency metrics.
+     *
+     * @return the signing metrics
+     */
+    public SigningMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Get the number of proofs waiting for a signing thread.
+     *
+     * @return the number of queued proofs
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Stop the signing threads. Proofs requested after closing are signed on the calling thread.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Latency metrics for DPoP proof signatures.
+     *
+     * <p>Latencies are collected in power-of-two buckets, so percentiles are approximate: a reported
+     * percentile is never lower than the actual value and at most twice as high.
+     */
+    public static final class SigningMetrics {
+
+        private static final int BUCKETS = Long.SIZE;
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        SigningMetrics() {
+            // Only created by AsyncDPoP
+        }
+
+        void record(final long nanos) {
+            final long value = Math.max(nanos, 0L);
+            count.increment();
+            total.add(value);
+            max.accumulateAndGet(value, Math::max);
+            histogram.incrementAndGet(bucket(value));
+        }
+
+        /**
+         * Get the number of signed proofs.
+         *
+         * @return the number of signatures
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Get the mean signing latency.
+         *
+         * @return the mean latency, in nanoseconds
+         */
+        public long getMeanNanos() {
+            final long n = count.sum();
+            return n == 0 ? 0L : total.sum() / n;
+        }
+
+        /**
+         * Get the maximum signing latency.
+         *
+         * @return the maximum latency, in nanoseconds
+         */
+        public long getMaxNanos() {
+            return max.get();
+        }
+
+        /**
+         * Get an approximate signing latency percentile.
+         *
+         * @param percentile the percentile, between 0 and 100
+         * @return the approximate latency at that percentile, in nanoseconds
+         */
+        public long getPercentileNanos(final double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100");
+            }
+            final long[] counts = new long[BUCKETS];
+            long n = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = histogram.get(i);
+                n += counts[i];
+            }
+            if (n == 0) {
+                return 0L;
+            }
+
+            final long rank = Math.max(1L, (long) Math.ceil(percentile / 100 * n));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), max.get());
+                }
+            }
+            return max.get();
+        }
+
+        static int bucket(final long value) {
+            return value == 0L ? 0 : BUCKETS - 1 - Long.numberOfLeadingZeros(value);
+        }
+
+        static long upperBound(final int bucket) {
+            return bucket >= BUCKETS - 2 ? Long.MAX_VALUE : (1L << (bucket + 1)) - 1;
+        }
+    }
+}
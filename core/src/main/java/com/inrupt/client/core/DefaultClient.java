@@ -26,13 +26,18 @@ import com.inrupt.client.Request;
 import com.inrupt.client.Response;
 import com.inrupt.client.auth.Challenge;
 import com.inrupt.client.auth.Credential;
+import com.inrupt.client.auth.DPoPNonceCache;
 import com.inrupt.client.auth.ReactiveAuthorization;
 import com.inrupt.client.auth.Session;
 import com.inrupt.client.spi.HttpService;
 import com.inrupt.client.spi.ServiceProvider;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
@@ -52,21 +57,28 @@ public final class DefaultClient implements Client {
     private final ReactiveAuthorization authHandler = new ReactiveAuthorization();
     private final HttpService httpClient;
     private final Session clientSession;
+    private final DPoPNonceCache nonces;
 
     DefaultClient(final HttpService httpClient) {
         this(httpClient, Session.anonymous());
     }
 
     DefaultClient(final HttpService httpClient, final Session session) {
+        this(httpClient, session, new DPoPNonceCache());
+    }
+
+    private DefaultClient(final HttpService httpClient, final Session session, final DPoPNonceCache nonces) {
         Objects.requireNonNull(httpClient, "Http client may not be null!");
         Objects.requireNonNull(session, "Session may not be null!");
         this.httpClient = httpClient;
         this.clientSession = session;
+        this.nonces = nonces;
     }
 
     @Override
     public Client session(final Session session) {
-        return new DefaultClient(this.httpClient, session);
+        // Server nonces are not tied to a session, so they are shared with the new client
+        return new DefaultClient(this.httpClient, session, nonces);
     }
 
     @Override
@@ -81,18 +93,17 @@ public final class DefaultClient implements Client {
         // Check session cache for a relevant access token
         return clientSession.fromCache(request)
             // Use that token, if present
-            .map(token -> httpClient.send(upgradeRequest(request, token), responseBodyHandler))
+            .map(token -> sendUpgraded(request, token, responseBodyHandler))
             // Otherwise perform the regular HTTP authorization dance
             .orElseGet(() -> httpClient.send(request, responseBodyHandler)
                 .thenCompose(res -> {
                     if (res.statusCode() == UNAUTHORIZED) {
-                        final List<Challenge> challenges = WwwAuthenticate
-                            .parse(res.headers().allValues("WWW-Authenticate").toArray(new String[0]))
-                            .getChallenges();
+                        // A server may already provide a nonce for the upgraded request
+                        nonces.update(request.uri(), res.headers());
+                        final List<Challenge> challenges = getChallenges(res);
 
                         return authHandler.negotiate(clientSession, request, challenges)
-                            .thenCompose(token -> token.map(t ->
-                                        httpClient.send(upgradeRequest(request, t), responseBodyHandler))
+                            .thenCompose(token -> token.map(t -> sendUpgraded(request, t, responseBodyHandler))
                                     .orElseGet(() -> CompletableFuture.completedFuture(res)))
                             .exceptionally(err -> {
                                 LOGGER.debug("Unable to negotiate an authentication token: {}", err.getMessage());
@@ -103,27 +114,62 @@ public final class DefaultClient implements Client {
                 }));
     }
 
-    Request upgradeRequest(final Request request, final Credential token) {
-        final Request.Builder builder = Request.newBuilder()
-            .uri(request.uri())
-            .method(request.method(), request.bodyPublisher().orElseGet(Request.BodyPublishers::noBody));
+    <T> CompletionStage<Response<T>> sendUpgraded(final Request request, final Credential token,
+            final Response.BodyHandler<T> responseBodyHandler) {
+        return upgradeRequest(request, token, nonces.get(request.uri()).orElse(null))
+            .thenCompose(req -> httpClient.send(req, responseBodyHandler))
+            .thenCompose(res -> {
+                nonces.update(request.uri(), res.headers());
+                final Optional<String> nonce = nonces.get(request.uri());
+                if (nonce.isPresent() && isNonceChallenge(token, res)) {
+                    // Retry once, with a proof that includes the server-provided nonce
+                    LOGGER.debug("Retrying request with a DPoP nonce: {}", request.uri());
+                    return upgradeRequest(request, token, nonce.get())
+                        .thenCompose(req -> httpClient.send(req, responseBodyHandler))
+                        .thenApply(retry -> {
+                            nonces.update(request.uri(), retry.headers());
+                            return retry;
+                        });
+                }
+                return CompletableFuture.completedFuture(res);
+            });
+    }
 
-        LOGGER.debug("Sending upgraded request: {}", request.uri());
-        request.timeout().ifPresent(builder::timeout);
-        request.headers().asMap().forEach((name, values) -> {
-            for (final String value : values) {
-                builder.header(name, value);
+    static boolean isNonceChallenge(final Credential token, final Response<?> response) {
+        if (response.statusCode() == UNAUTHORIZED && DPOP.equalsIgnoreCase(token.getScheme())) {
+            for (final Challenge challenge : getChallenges(response)) {
+                if (DPOP.equalsIgnoreCase(challenge.getScheme())
+                        && DPoPNonceCache.USE_DPOP_NONCE.equals(challenge.getParameter("error"))) {
+                    return true;
+                }
             }
-        });
+        }
+        return false;
+    }
+
+    static List<Challenge> getChallenges(final Response<?> response) {
+        return WwwAuthenticate.parse(response.headers().allValues("WWW-Authenticate").toArray(new String[0]))
+            .getChallenges();
+    }
 
-        // Use setHeader to overwrite any possible existing authorization header
-        builder.setHeader(AUTHORIZATION, String.join(" ", token.getScheme(), token.getToken()));
+    CompletionStage<Request> upgradeRequest(final Request request, final Credential token, final String nonce) {
+        LOGGER.debug("Sending upgraded request: {}", request.uri());
+
+        // Only the authorization headers are added; all other request data is shared with the original request
+        final Map<String, List<String>> headers = new HashMap<>();
+        headers.put(AUTHORIZATION, Collections.singletonList(String.join(" ", token.getScheme(), token.getToken())));
         if (DPOP.equalsIgnoreCase(token.getScheme())) {
-            token.getProofThumbprint().flatMap(jkt -> clientSession.generateProof(jkt, request))
-                .ifPresent(proof -> builder.setHeader(DPOP, proof));
+            final Optional<String> jkt = token.getProofThumbprint();
+            if (jkt.isPresent()) {
+                // The session may sign the proof off the calling thread
+                return clientSession.generateProofAsync(jkt.get(), request, nonce).thenApply(proof -> {
+                    proof.ifPresent(p -> headers.put(DPOP, Collections.singletonList(p)));
+                    return request.withHeaders(headers);
+                });
+            }
         }
 
-        return builder.build();
+        return CompletableFuture.completedFuture(request.withHeaders(headers));
     }
 
     public static Client.Builder newBuilder() {
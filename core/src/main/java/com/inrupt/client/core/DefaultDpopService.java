@@ -27,8 +27,11 @@ import com.inrupt.client.auth.DPoP;
 import com.inrupt.client.spi.DpopService;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.KeyPair;
-import java.security.spec.ECParameterSpec;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -37,11 +40,16 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.UUID;
 
+import org.jose4j.base64url.Base64Url;
+import org.jose4j.jca.ProviderContext;
+import org.jose4j.jwa.AlgorithmFactoryFactory;
+import org.jose4j.jwa.CryptoPrimitive;
 import org.jose4j.jwk.PublicJsonWebKey;
 import org.jose4j.jws.JsonWebSignature;
-import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jws.JsonWebSignatureAlgorithm;
 import org.jose4j.keys.EcKeyUtil;
 import org.jose4j.keys.EllipticCurves;
+import org.jose4j.keys.RsaKeyUtil;
 import org.jose4j.lang.JoseException;
 
 /**
@@ -51,28 +59,54 @@ import org.jose4j.lang.JoseException;
  */
 public class DefaultDpopService implements DpopService {
 
+    private static final ProviderContext DEFAULT_PROVIDER_CONTEXT = new ProviderContext();
+    private static final String ES256 = "ES256";
+    private static final int RSA_KEY_SIZE = 2048;
+
     @Override
     public DPoP ofKeyPairs(final Map<String, KeyPair> keypairs) {
         return new DPoPManager(keypairs);
     }
 
+    @Override
+    public DPoP ofKeyPairs(final Map<String, KeyPair> keypairs, final String algorithm, final String provider) {
+        return new DPoPManager(keypairs, algorithm, provider);
+    }
+
     public class DPoPManager implements DPoP {
         private final Map<String, KeyPair> keypairs = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private final Map<String, ProofSigner> signers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
         private final Map<String, String> thumbprints = new HashMap<>();
+        private final Map<String, String> algorithmThumbprints = new HashMap<>();
 
         public DPoPManager(final Map<String, KeyPair> keypairs) {
+            this(keypairs, ES256, null);
+        }
+
+        /**
+         * Create a DPoP manager that signs proofs with a particular JCA provider.
+         *
+         * @param keypairs the keypairs, may be empty
+         * @param algorithm the algorithm for which a keypair is generated if no keypairs are provided
+         * @param provider the name of the JCA provider, may be {@code null} for the default provider
+         */
+        public DPoPManager(final Map<String, KeyPair> keypairs, final String algorithm, final String provider) {
             super();
             try {
                 this.keypairs.putAll(keypairs);
                 if (this.keypairs.isEmpty()) {
-                    this.keypairs.put("ES256", defaultKeyPair(EllipticCurves.P256));
+                    this.keypairs.put(algorithm, defaultKeyPair(algorithm, provider));
                 }
 
-                // Populate the thumbprints
+                // Populate the signers and thumbprints
+                final ProviderContext providerContext = providerContext(provider);
                 for (final Map.Entry<String, KeyPair> item : this.keypairs.entrySet()) {
-                    final PublicJsonWebKey jwk = PublicJsonWebKey.Factory.newPublicJwk(item.getValue().getPublic());
-                    final String jkt = jwk.calculateBase64urlEncodedThumbprint(SHA_256);
-                    this.thumbprints.put(jkt, item.getKey());
+                    final ProofSigner signer = new ProofSigner(item.getKey(), item.getValue(), providerContext);
+                    this.signers.put(item.getKey(), signer);
+                    this.thumbprints.put(signer.getThumbprint(), item.getKey());
+                }
+                for (final Map.Entry<String, String> item : this.thumbprints.entrySet()) {
+                    this.algorithmThumbprints.put(item.getValue(), item.getKey());
                 }
             } catch (final JoseException ex) {
                 throw new AuthenticationException("Unable to process provided keypair", ex);
@@ -90,16 +124,20 @@ public class DefaultDpopService implements DpopService {
         @Override
         public Optional<String> lookupThumbprint(final String algorithm) {
             if (algorithm != null) {
-                return thumbprints.entrySet().stream().filter(e -> algorithm.equals(e.getValue()))
-                    .map(Map.Entry::getKey).findFirst();
+                return Optional.ofNullable(algorithmThumbprints.get(algorithm));
             }
             return Optional.empty();
         }
 
         @Override
         public String generateProof(final String algorithm, final URI uri, final String method) {
-            final KeyPair keypair = keypairs.get(Objects.requireNonNull(algorithm));
-            if (keypair == null) {
+            return generateProof(algorithm, uri, method, null);
+        }
+
+        @Override
+        public String generateProof(final String algorithm, final URI uri, final String method, final String nonce) {
+            final ProofSigner signer = signers.get(Objects.requireNonNull(algorithm));
+            if (signer == null) {
                 throw new AuthenticationException("Unsupported DPoP algorithm: " + algorithm);
             }
 
@@ -107,21 +145,7 @@ public class DefaultDpopService implements DpopService {
             final URI htu = Objects.requireNonNull(uri);
 
             try {
-                final PublicJsonWebKey jwk = PublicJsonWebKey.Factory.newPublicJwk(keypair.getPublic());
-                final JsonWebSignature jws = new JsonWebSignature();
-                jws.setAlgorithmHeaderValue(algorithm);
-                jws.setHeader(TYPE, "dpop+jwt");
-                jws.setJwkHeader(jwk);
-                jws.setKey(keypair.getPrivate());
-
-                final JwtClaims claims = new JwtClaims();
-                claims.setJwtId(UUID.randomUUID().toString());
-                claims.setStringClaim("htm", htm);
-                claims.setStringClaim("htu", htu.toString());
-                claims.setIssuedAtToNow();
-                jws.setPayload(claims.toJson());
-
-                return jws.getCompactSerialization();
+                return signer.sign(htm, htu, nonce);
             } catch (final JoseException ex) {
                 throw new AuthenticationException("Unable to generate DPoP proof", ex);
             }
@@ -133,13 +157,118 @@ public class DefaultDpopService implements DpopService {
         }
     }
 
-    static KeyPair defaultKeyPair(final ECParameterSpec spec) {
+    /**
+     * Signs DPoP proofs with a single key pair.
+     *
+     * <p>The JWS header only depends on the key pair, so it is encoded once. Each proof then only needs
+     * its claims serialized and signed.
+     */
+    static final class ProofSigner {
+        private final String algorithm;
+        private final PrivateKey privateKey;
+        private final String thumbprint;
+        private final String encodedHeader;
+        private final ProviderContext providerContext;
+
+        ProofSigner(final String algorithm, final KeyPair keypair, final ProviderContext providerContext)
+                throws JoseException {
+            final PublicJsonWebKey jwk = PublicJsonWebKey.Factory.newPublicJwk(keypair.getPublic());
+            final JsonWebSignature jws = new JsonWebSignature();
+            jws.setAlgorithmHeaderValue(algorithm);
+            jws.setHeader(TYPE, "dpop+jwt");
+            jws.setJwkHeader(jwk);
+
+            this.algorithm = algorithm;
+            this.privateKey = keypair.getPrivate();
+            this.thumbprint = jwk.calculateBase64urlEncodedThumbprint(SHA_256);
+            this.encodedHeader = jws.getHeaders().getEncodedHeader();
+            this.providerContext = providerContext;
+        }
+
+        String getThumbprint() {
+            return thumbprint;
+        }
+
+        String sign(final String htm, final URI htu, final String nonce) throws JoseException {
+            final String signingInput = encodedHeader + "."
+                + Base64Url.encodeUtf8ByteRepresentation(claims(htm, htu, nonce));
+            final JsonWebSignatureAlgorithm signer = AlgorithmFactoryFactory.getInstance().getJwsAlgorithmFactory()
+                .getAlgorithm(algorithm);
+            signer.validateSigningKey(privateKey);
+            // A CryptoPrimitive wraps a stateful JCA Signature, so it is prepared for each proof
+            final CryptoPrimitive primitive = signer.prepareForSign(privateKey, providerContext);
+            final byte[] signature = signer.sign(primitive, signingInput.getBytes(StandardCharsets.US_ASCII));
+            return signingInput + "." + Base64Url.encode(signature);
+        }
+
+        static String claims(final String htm, final URI htu, final String nonce) {
+            final StringBuilder builder = new StringBuilder(128);
+            builder.append("{\"jti\":\"").append(UUID.randomUUID()).append("\",\"htm\":");
+            appendJsonString(builder, htm);
+            builder.append(",\"htu\":");
+            appendJsonString(builder, htu.toString());
+            if (nonce != null) {
+                builder.append(",\"nonce\":");
+                appendJsonString(builder, nonce);
+            }
+            builder.append(",\"iat\":").append(System.currentTimeMillis() / 1000).append('}');
+            return builder.toString();
+        }
+
+        static void appendJsonString(final StringBuilder builder, final String value) {
+            builder.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                final char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    builder.append('\\').append(c);
+                } else if (c < ' ') {
+                    builder.append(String.format("\\u%04x", (int) c));
+                } else {
+                    builder.append(c);
+                }
+            }
+            builder.append('"');
+        }
+    }
+
+    static ProviderContext providerContext(final String provider) {
+        if (provider == null) {
+            return DEFAULT_PROVIDER_CONTEXT;
+        }
+        final ProviderContext context = new ProviderContext();
+        context.getSuppliedKeyProviderContext().setSignatureProvider(provider);
+        return context;
+    }
+
+    static KeyPair defaultKeyPair(final String algorithm, final String provider) {
         try {
-            final EcKeyUtil keyUtil = new EcKeyUtil();
-            return keyUtil.generateKeyPair(spec);
-        } catch (final JoseException ex) {
+            switch (Objects.requireNonNull(algorithm, "algorithm may not be null!")) {
+                case ES256:
+                    return new EcKeyUtil(provider, null).generateKeyPair(EllipticCurves.P256);
+                case "ES384":
+                    return new EcKeyUtil(provider, null).generateKeyPair(EllipticCurves.P384);
+                case "ES512":
+                    return new EcKeyUtil(provider, null).generateKeyPair(EllipticCurves.P521);
+                case "RS256":
+                case "RS384":
+                case "RS512":
+                case "PS256":
+                case "PS384":
+                case "PS512":
+                    return new RsaKeyUtil(provider, null).generateKeyPair(RSA_KEY_SIZE);
+                case "EdDSA":
+                    return edDsaKeyPair(provider);
+                default:
+                    throw new AuthenticationException("Unsupported DPoP algorithm: " + algorithm);
+            }
+        } catch (final JoseException | GeneralSecurityException ex) {
             throw new AuthenticationException("Unable to generate default keypair", ex);
         }
     }
-}
 
+    static KeyPair edDsaKeyPair(final String provider) throws GeneralSecurityException {
+        final KeyPairGenerator generator = provider == null ? KeyPairGenerator.getInstance("Ed25519")
+            : KeyPairGenerator.getInstance("Ed25519", provider);
+        return generator.generateKeyPair();
+    }
+}
@@ -0,0 +1,683 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.core;
+
+import com.inrupt.client.ClientCache;
+import com.inrupt.client.Headers.Link;
+import com.inrupt.client.Headers.WacAllow;
+import com.inrupt.client.Headers.WwwAuthenticate;
+import com.inrupt.client.auth.Challenge;
+import com.inrupt.client.spi.CacheBuilderService;
+import com.inrupt.client.spi.HeaderParser;
+import com.inrupt.client.spi.ServiceProvider;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A single-pass header parser.
+ *
+ * <p>This parser reads {@code Link}, {@code WWW-Authenticate} and {@code WAC-Allow} headers directly
+ * from the header string, following the grammars in the {@code inrupt-client-parser} module. Headers
+ * that do not conform to those grammars are handed to the ANTLR-based {@link DefaultHeaderParser},
+ * so that error recovery, and therefore the parsed result, is identical for malformed input.
+ *
+ * <p>Servers tend to send byte-identical headers for many resources, so the parsed value of each
+ * distinct header string is held in a bounded cache, built with the {@link CacheBuilderService}. When no cache
+ * module is available on the classpath, a small, built-in least-recently-used cache is used instead.
+ */
+public class FastHeaderParser implements HeaderParser {
+
+    private static final int CACHE_SIZE = 1000;
+    private static final Duration CACHE_EXPIRATION = Duration.ofMinutes(60);
+    private static final String PROBE = "probe";
+
+    private final DefaultHeaderParser.LinkHeaderParser linkFallback = new DefaultHeaderParser.LinkHeaderParser();
+    private final DefaultHeaderParser.WwwAuthenticateHeaderParser wwwAuthenticateFallback =
+        new DefaultHeaderParser.WwwAuthenticateHeaderParser();
+    private final DefaultHeaderParser.WacAllowHeaderParser wacAllowFallback =
+        new DefaultHeaderParser.WacAllowHeaderParser();
+    private final ClientCache<String, List<Link>> linkCache;
+    private final ClientCache<String, List<Challenge>> wwwAuthenticateCache;
+    private final ClientCache<String, Map<String, Set<String>>> wacAllowCache;
+
+    /**
+     * Create a header parser, using the cache implementation available on the classpath.
+     */
+    public FastHeaderParser() {
+        this(withFallback(ServiceProvider.getCacheBuilder()));
+    }
+
+    /**
+     * Create a header parser with a custom cache builder.
+     *
+     * @param cacheBuilder the cache builder used for parsed header values
+     */
+    public FastHeaderParser(final CacheBuilderService cacheBuilder) {
+        Objects.requireNonNull(cacheBuilder, "Cache builder may not be null!");
+        this.linkCache = cacheBuilder.build(CACHE_SIZE, CACHE_EXPIRATION);
+        this.wwwAuthenticateCache = cacheBuilder.build(CACHE_SIZE, CACHE_EXPIRATION);
+        this.wacAllowCache = cacheBuilder.build(CACHE_SIZE, CACHE_EXPIRATION);
+    }
+
+    static CacheBuilderService withFallback(final CacheBuilderService cacheBuilder) {
+        // Without a cache module, the service provider supplies a cache that never retains anything
+        final ClientCache<String, String> probe = cacheBuilder.build(1, CACHE_EXPIRATION);
+        probe.put(PROBE, PROBE);
+        if (probe.get(PROBE) != null) {
+            return cacheBuilder;
+        }
+        return new LruCacheBuilder();
+    }
+
+    @Override
+    public List<Link> parseLink(final List<String> headers) {
+        Objects.requireNonNull(headers, "Header values may not be null!");
+        final List<Link> links = new ArrayList<>();
+        for (final String header : headers) {
+            List<Link> parsed = linkCache.get(header);
+            if (parsed == null) {
+                parsed = new ArrayList<>();
+                if (!LinkScanner.parse(header, parsed)) {
+                    parsed = linkFallback.parse(header);
+                }
+                parsed = Collections.unmodifiableList(parsed);
+                linkCache.put(header, parsed);
+            }
+            links.addAll(parsed);
+        }
+        return links;
+    }
+
+    @Override
+    public WwwAuthenticate parseWwwAuthenticate(final List<String> headers) {
+        final List<Challenge> challenges = new ArrayList<>();
+        for (final String header : headers) {
+            List<Challenge> parsed = wwwAuthenticateCache.get(header);
+            if (parsed == null) {
+                parsed = new ArrayList<>();
+                if (!WwwAuthenticateScanner.parse(header, parsed)) {
+                    parsed = wwwAuthenticateFallback.parse(header);
+                }
+                parsed = Collections.unmodifiableList(parsed);
+                wwwAuthenticateCache.put(header, parsed);
+            }
+            challenges.addAll(parsed);
+        }
+        return WwwAuthenticate.of(challenges);
+    }
+
+    @Override
+    public WacAllow parseWacAllow(final List<String> headers) {
+        final Map<String, Set<String>> accessParams = new HashMap<>();
+        for (final String header : headers) {
+            Map<String, Set<String>> parsed = wacAllowCache.get(header);
+            if (parsed == null) {
+                parsed = new HashMap<>();
+                if (!WacAllowScanner.parse(header, parsed)) {
+                    parsed = wacAllowFallback.parse(header);
+                }
+                parsed = Collections.unmodifiableMap(parsed);
+                wacAllowCache.put(header, parsed);
+            }
+            for (final Map.Entry<String, Set<String>> entry : parsed.entrySet()) {
+                accessParams.computeIfAbsent(entry.getKey(), k -> new HashSet<>())
+                            .addAll(entry.getValue());
+            }
+        }
+        return WacAllow.of(accessParams);
+    }
+
+    /**
+     * Character classes shared by the header grammars.
+     */
+    static final class Chars {
+        static final int NONE = -1;
+
+        private static final String TCHAR_SYMBOLS = "!#$%&'*+-.^_`|~";
+
+        static boolean isAlpha(final char c) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+        }
+
+        static boolean isDigit(final char c) {
+            return c >= '0' && c <= '9';
+        }
+
+        static boolean isWs(final char c) {
+            return c == ' ' || c == '\t';
+        }
+
+        static boolean isVchar(final char c) {
+            return c >= '!' && c <= '~';
+        }
+
+        // The grammars operate on code points: surrogate pairs fall outside of obs-text, and lone
+        // surrogates are rare enough that they are simply left to the ANTLR parser.
+        static boolean isObsText(final char c) {
+            return c >= '\u0080' && !Character.isSurrogate(c);
+        }
+
+        static boolean isTchar(final char c) {
+            return isAlpha(c) || isDigit(c) || TCHAR_SYMBOLS.indexOf(c) >= 0;
+        }
+
+        static boolean isQdtext(final char c) {
+            return c == '\t' || c == ' ' || c == '!' || (c >= '#' && c <= '[')
+                || (c >= ']' && c <= '~') || isObsText(c);
+        }
+
+        static int skipWs(final String value, final int start) {
+            int pos = start;
+            while (pos < value.length() && isWs(value.charAt(pos))) {
+                pos++;
+            }
+            return pos;
+        }
+
+        static int skipTchars(final String value, final int start) {
+            int pos = start;
+            while (pos < value.length() && isTchar(value.charAt(pos))) {
+                pos++;
+            }
+            return pos;
+        }
+
+        /**
+         * Scan a quoted-string.
+         *
+         * @param value the header value
+         * @param start the position of the opening quote
+         * @return the position after the closing quote, or {@link #NONE}
+         */
+        static int skipQuotedString(final String value, final int start) {
+            if (start >= value.length() || value.charAt(start) != '"') {
+                return NONE;
+            }
+            int pos = start + 1;
+            while (pos < value.length()) {
+                final char c = value.charAt(pos);
+                if (c == '"') {
+                    return pos + 1;
+                } else if (c == '\\') {
+                    if (pos + 1 < value.length() && isQuotedPairChar(value.charAt(pos + 1))) {
+                        pos += 2;
+                    } else {
+                        return NONE;
+                    }
+                } else if (isQdtext(c)) {
+                    pos++;
+                } else {
+                    return NONE;
+                }
+            }
+            return NONE;
+        }
+
+        /**
+         * Scan a parameter of the form {@code token "=" ( token / quoted-string )}.
+         *
+         * @param value the header value
+         * @param start the position of the parameter
+         * @return the position after the parameter, or {@link #NONE}
+         */
+        static int skipParam(final String value, final int start) {
+            final int eq = skipTchars(value, start);
+            if (eq == start || eq >= value.length() || value.charAt(eq) != '=') {
+                return NONE;
+            }
+            if (eq + 1 < value.length() && value.charAt(eq + 1) == '"') {
+                return skipQuotedString(value, eq + 1);
+            }
+            final int end = skipTchars(value, eq + 1);
+            return end == eq + 1 ? NONE : end;
+        }
+
+        /**
+         * Add a parameter, as found by {@link #skipParam}, to a map.
+         *
+         * <p>As with the ANTLR parser, quoted values are unwrapped but not unescaped.
+         */
+        static void putParam(final String value, final int start, final int end, final Map<String, String> params) {
+            final int eq = value.indexOf('=', start);
+            if (value.charAt(eq + 1) == '"') {
+                params.put(value.substring(start, eq), value.substring(eq + 2, end - 1));
+            } else {
+                params.put(value.substring(start, eq), value.substring(eq + 1, end));
+            }
+        }
+
+        private static boolean isQuotedPairChar(final char c) {
+            return c == '\t' || c == ' ' || isVchar(c) || isObsText(c);
+        }
+
+        private Chars() {
+            // Prevent instantiation
+        }
+    }
+
+    /**
+     * A scanner for the {@code Link.g4} grammar.
+     */
+    static final class LinkScanner {
+
+        /**
+         * Parse a Link header.
+         *
+         * <p>Besides the strict grammar, optional whitespace after a comma is accepted: the ANTLR parser
+         * recovers from it by deleting the whitespace token, which does not affect the result.
+         *
+         * @param header the header value
+         * @param links the collection to which parsed links are added
+         * @return {@code false} if the header must be handled by the ANTLR parser, in which case
+         *         {@code links} is left unchanged
+         */
+        static boolean parse(final String header, final List<Link> links) {
+            final int length = header.length();
+            final List<Link> parsed = new ArrayList<>();
+            int pos = 0;
+            while (true) {
+                // UriReference: the lexer takes the longest run of URI characters that ends with '>'
+                if (pos >= length || header.charAt(pos) != '<') {
+                    return false;
+                }
+                int run = pos + 1;
+                while (run < length && isUriChar(header.charAt(run))) {
+                    run++;
+                }
+                int end = run - 1;
+                while (end > pos + 1 && header.charAt(end) != '>') {
+                    end--;
+                }
+                if (end <= pos + 1) {
+                    return false;
+                }
+                final URI uri;
+                try {
+                    uri = URI.create(header.substring(pos + 1, end));
+                } catch (final IllegalArgumentException ex) {
+                    return false;
+                }
+                pos = end + 1;
+
+                // ( WS? ';' WS? LinkParam )*
+                final Map<String, String> params = new HashMap<>();
+                while (true) {
+                    final int semicolon = Chars.skipWs(header, pos);
+                    if (semicolon >= length || header.charAt(semicolon) != ';') {
+                        break;
+                    }
+                    final int param = Chars.skipWs(header, semicolon + 1);
+                    final int paramEnd = Chars.skipParam(header, param);
+                    if (paramEnd == Chars.NONE) {
+                        return false;
+                    }
+                    Chars.putParam(header, param, paramEnd, params);
+                    pos = paramEnd;
+                }
+                parsed.add(Link.of(uri, params));
+
+                if (pos == length) {
+                    links.addAll(parsed);
+                    return true;
+                }
+                if (header.charAt(pos) != ',') {
+                    return false;
+                }
+                pos = Chars.skipWs(header, pos + 1);
+            }
+        }
+
+        private static boolean isUriChar(final char c) {
+            return Chars.isVchar(c) || Chars.isObsText(c);
+        }
+
+        private LinkScanner() {
+            // Prevent instantiation
+        }
+    }
+
+    /**
+     * A scanner for the {@code WwwAuthenticate.g4} grammar.
+     */
+    static final class WwwAuthenticateScanner {
+        static final int COMMA = 0;
+        static final int WS = 1;
+        static final int AUTH_PARAM = 2;
+        static final int AUTH_SCHEME = 3;
+        static final int QUOTED_STRING = 4;
+        static final int TOKEN68 = 5;
+        static final int EOF = 6;
+
+        private static final int FIELDS = 3;
+
+        /**
+         * Parse a WWW-Authenticate header.
+         *
+         * @param header the header value
+         * @param challenges the collection to which parsed challenges are added
+         * @return {@code false} if the header must be handled by the ANTLR parser, in which case
+         *         {@code challenges} is left unchanged
+         */
+        static boolean parse(final String header, final List<Challenge> challenges) {
+            final int[] tokens = tokenize(header);
+            if (tokens == null) {
+                return false;
+            }
+
+            final List<Challenge> parsed = new ArrayList<>();
+            int i = 0;
+            while (true) {
+                // challenge : AuthScheme ( WS ( Token68 | AuthParam ( WS? ',' WS? AuthParam )* ) )*
+                if (type(tokens, i) != AUTH_SCHEME) {
+                    return false;
+                }
+                final String scheme = header.substring(start(tokens, i), end(tokens, i));
+                final Map<String, String> params = new HashMap<>();
+                i++;
+                while (type(tokens, i) == WS
+                        && (type(tokens, i + 1) == TOKEN68 || type(tokens, i + 1) == AUTH_PARAM)) {
+                    i++;
+                    if (type(tokens, i) == AUTH_PARAM) {
+                        Chars.putParam(header, start(tokens, i), end(tokens, i), params);
+                        i++;
+                        while (true) {
+                            int next = i;
+                            if (type(tokens, next) == WS) {
+                                next++;
+                            }
+                            if (type(tokens, next) != COMMA) {
+                                break;
+                            }
+                            next++;
+                            if (type(tokens, next) == WS) {
+                                next++;
+                            }
+                            if (type(tokens, next) != AUTH_PARAM) {
+                                break;
+                            }
+                            Chars.putParam(header, start(tokens, next), end(tokens, next), params);
+                            i = next + 1;
+                        }
+                    } else {
+                        i++;
+                    }
+                }
+                parsed.add(Challenge.of(scheme, params));
+
+                // wwwAuthenticate : challenge ( ',' WS? challenge )*
+                if (type(tokens, i) == EOF) {
+                    challenges.addAll(parsed);
+                    return true;
+                }
+                if (type(tokens, i) != COMMA) {
+                    return false;
+                }
+                i++;
+                if (type(tokens, i) == WS) {
+                    i++;
+                }
+            }
+        }
+
+        /**
+         * Split a header into tokens, emulating the longest-match rule of the ANTLR lexer.
+         *
+         * @param header the header value
+         * @return a flat array of (type, start, end) triples, or {@code null} on a lexical error
+         */
+        static int[] tokenize(final String header) {
+            final int length = header.length();
+            int[] tokens = new int[FIELDS * 8];
+            int count = 0;
+            int pos = 0;
+            while (pos < length) {
+                final char c = header.charAt(pos);
+                final int type;
+                final int end;
+                if (c == ',') {
+                    type = COMMA;
+                    end = pos + 1;
+                } else if (Chars.isWs(c)) {
+                    type = WS;
+                    end = Chars.skipWs(header, pos);
+                } else if (c == '"') {
+                    type = QUOTED_STRING;
+                    end = Chars.skipQuotedString(header, pos);
+                } else {
+                    // Rules are tried in grammar order, so a longer match is needed to displace an earlier rule
+                    final int param = Chars.skipParam(header, pos);
+                    final int scheme = Chars.skipTchars(header, pos);
+                    final int token68 = skipToken68(header, pos);
+                    if (param != Chars.NONE && param >= scheme && param >= token68) {
+                        type = AUTH_PARAM;
+                        end = param;
+                    } else if (scheme > pos && scheme >= token68) {
+                        type = AUTH_SCHEME;
+                        end = scheme;
+                    } else {
+                        type = TOKEN68;
+                        end = token68;
+                    }
+                }
+                if (end == Chars.NONE || end <= pos) {
+                    return null;
+                }
+                if (count + FIELDS > tokens.length) {
+                    tokens = Arrays.copyOf(tokens, tokens.length * 2);
+                }
+                tokens[count] = type;
+                tokens[count + 1] = pos;
+                tokens[count + 2] = end;
+                count += FIELDS;
+                pos = end;
+            }
+            return Arrays.copyOf(tokens, count);
+        }
+
+        static int type(final int[] tokens, final int index) {
+            final int offset = index * FIELDS;
+            return offset < tokens.length ? tokens[offset] : EOF;
+        }
+
+        static int start(final int[] tokens, final int index) {
+            return tokens[index * FIELDS + 1];
+        }
+
+        static int end(final int[] tokens, final int index) {
+            return tokens[index * FIELDS + 2];
+        }
+
+        // token68 = 1*( ALPHA / DIGIT / "-" / "." / "_" / "~" / "+" / "/" ) *"="
+        static int skipToken68(final String header, final int start) {
+            int pos = start;
+            while (pos < header.length() && isToken68Char(header.charAt(pos))) {
+                pos++;
+            }
+            if (pos == start) {
+                return Chars.NONE;
+            }
+            while (pos < header.length() && header.charAt(pos) == '=') {
+                pos++;
+            }
+            return pos;
+        }
+
+        private static boolean isToken68Char(final char c) {
+            return Chars.isAlpha(c) || Chars.isDigit(c) || c == '-' || c == '.' || c == '_' || c == '~'
+                || c == '+' || c == '/';
+        }
+
+        private WwwAuthenticateScanner() {
+            // Prevent instantiation
+        }
+    }
+
+    /**
+     * A scanner for the {@code WacAllow.g4} grammar.
+     */
+    static final class WacAllowScanner {
+
+        /**
+         * Parse a WAC-Allow header.
+         *
+         * <p>Whitespace around the {@code =} of an access parameter is left to the ANTLR parser, which
+         * keeps that whitespace in the permission group name.
+         *
+         * @param header the header value
+         * @param accessParams the map to which parsed access modes are added
+         * @return {@code false} if the header must be handled by the ANTLR parser, in which case
+         *         {@code accessParams} is left unchanged
+         */
+        static boolean parse(final String header, final Map<String, Set<String>> accessParams) {
+            final int length = header.length();
+            final List<String> parsed = new ArrayList<>();
+            int pos = 0;
+            while (true) {
+                // AccessParam : PermissionGroup '=' DQUOTE ( ALPHA | WS )* DQUOTE
+                int groupEnd = pos;
+                while (groupEnd < length && Chars.isAlpha(header.charAt(groupEnd))) {
+                    groupEnd++;
+                }
+                if (groupEnd == pos || groupEnd + 1 >= length || header.charAt(groupEnd) != '='
+                        || header.charAt(groupEnd + 1) != '"') {
+                    return false;
+                }
+                int end = groupEnd + 2;
+                while (end < length && (Chars.isAlpha(header.charAt(end)) || Chars.isWs(header.charAt(end)))) {
+                    end++;
+                }
+                if (end >= length || header.charAt(end) != '"') {
+                    return false;
+                }
+
+                // Access modes are separated by spaces, as in the ANTLR parser
+                final String group = header.substring(pos, groupEnd);
+                int mode = groupEnd + 2;
+                while (mode < end) {
+                    int modeEnd = header.indexOf(' ', mode);
+                    if (modeEnd == -1 || modeEnd > end) {
+                        modeEnd = end;
+                    }
+                    if (modeEnd > mode) {
+                        parsed.add(group);
+                        parsed.add(header.substring(mode, modeEnd));
+                    }
+                    mode = modeEnd + 1;
+                }
+                pos = end + 1;
+
+                // ( WS? ',' WS? AccessParam )*
+                if (pos == length) {
+                    for (int i = 0; i < parsed.size(); i += 2) {
+                        accessParams.computeIfAbsent(parsed.get(i), k -> new HashSet<>()).add(parsed.get(i + 1));
+                    }
+                    return true;
+                }
+                final int comma = Chars.skipWs(header, pos);
+                if (comma >= length || header.charAt(comma) != ',') {
+                    return false;
+                }
+                pos = Chars.skipWs(header, comma + 1);
+            }
+        }
+
+        private WacAllowScanner() {
+            // Prevent instantiation
+        }
+    }
+
+    /**
+     * Builds minimal, bounded, least-recently-used caches.
+     *
+     * <p>Parsed header values never become stale, so entries are evicted by size alone.
+     */
+    static final class LruCacheBuilder implements CacheBuilderService {
+        @Override
+        public <T, U> ClientCache<T, U> build(final int maximumSize, final Duration expiration) {
+            return new LruCache<>(maximumSize);
+        }
+    }
+
+    /**
+     * A synchronized, access-ordered cache with a maximum size.
+     */
+    static final class LruCache<T, U> implements ClientCache<T, U> {
+        private final Map<T, U> entries;
+
+        LruCache(final int maximumSize) {
+            this.entries = Collections.synchronizedMap(new LruMap<>(maximumSize));
+        }
+
+        @Override
+        public U get(final T key) {
+            Objects.requireNonNull(key, "cache key may not be null!");
+            return entries.get(key);
+        }
+
+        @Override
+        public void put(final T key, final U value) {
+            Objects.requireNonNull(key, "cache key may not be null!");
+            Objects.requireNonNull(value, "cache value may not be null!");
+            entries.put(key, value);
+        }
+
+        @Override
+        public void invalidate(final T key) {
+            Objects.requireNonNull(key, "cache key may not be null!");
+            entries.remove(key);
+        }
+
+        @Override
+        public void invalidateAll() {
+            entries.clear();
+        }
+    }
+
+    /**
+     * A linked hash map, in access order, that evicts its eldest entry once a maximum size is exceeded.
+     */
+    static final class LruMap<T, U> extends LinkedHashMap<T, U> {
+        private static final long serialVersionUID = 6215379140628563411L;
+
+        private final int maximumSize;
+
+        LruMap(final int maximumSize) {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<T, U> eldest) {
+            return size() > maximumSize;
+        }
+    }
+}
@@ -69,10 +69,32 @@
     String proof = dpop.generateProof("ES256", uri, method);
  * }</pre>
  * 
+ * <p>A manager may also generate its keypair for another algorithm and sign with a particular JCA provider.
+ * {@code EdDSA} proofs, for instance, are much cheaper to sign than {@code ES256} proofs, provided that
+ * the servers in use accept them.
+ * 
+ * <pre>{@code
+    DPoP dpop = DPoP.of("EdDSA", null);
+ * }</pre>
+ * 
+ * <p>To keep signature computation off the thread that sends a request, a DPoP manager can be wrapped
+ * in an {@code AsyncDPoP}, which signs proofs on a small, bounded pool of threads and records signing latencies.
+ * 
+ * <pre>{@code
+    AsyncDPoP dpop = AsyncDPoP.of(DPoP.of());
+    OpenIdConfig config = new OpenIdConfig();
+    config.setProofSigner(dpop);
+    Session session = OpenIdSession.ofIdToken(token, config);
+    long p99 = dpop.getMetrics().getPercentileNanos(99);
+ * }</pre>
+ * 
  * <h2>Header parsing default</h2>
  * 
  * <p>The {@code DefaultHeaderParser} parses among the WWW-Authenticate header also some Solid useful headers like
- * WAC-Allow and Link headers.
+ * WAC-Allow and Link headers. The {@code FastHeaderParser}, which is registered by default, reads these headers
+ * in a single pass and only hands headers that do not match the grammar to the ANTLR-based {@code DefaultHeaderParser}.
+ * Parsed values are cached per distinct header string when a cache module, such as {@code inrupt-client-caffeine},
+ * is available on the classpath.
  *
  */
 package com.inrupt.client.core;
@@ -0,0 +1,102 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.inrupt.client.auth.DPoP;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+class AsyncDPoPTest {
+
+    static final URI uri = URI.create("https://storage.example/resource");
+
+    @Test
+    void testGenerateProofAsync() {
+        try (final AsyncDPoP dpop = AsyncDPoP.of(DPoP.of(), 2, 4)) {
+            final List<CompletableFuture<String>> proofs = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                proofs.add(dpop.generateProofAsync("ES256", uri, "GET").toCompletableFuture());
+            }
+
+            for (final CompletableFuture<String> proof : proofs) {
+                assertDoesNotThrow(() -> DPoPManagerTest.verifyDpop(proof.join(), uri, "GET"));
+            }
+            assertEquals(32, dpop.getMetrics().getCount());
+        }
+    }
+
+    @Test
+    void testGenerateProofAfterClose() {
+        final AsyncDPoP dpop = AsyncDPoP.of(DPoP.of(), 1, 1);
+        dpop.close();
+
+        final String proof = dpop.generateProofAsync("ES256", uri, "PUT").toCompletableFuture().join();
+        assertDoesNotThrow(() -> DPoPManagerTest.verifyDpop(proof, uri, "PUT"));
+    }
+
+    @Test
+    void testUnknownAlgorithm() {
+        try (final AsyncDPoP dpop = AsyncDPoP.of(DPoP.of())) {
+            final CompletableFuture<String> proof = dpop.generateProofAsync("RS256", uri, "GET")
+                .toCompletableFuture();
+            assertThrows(Exception.class, proof::join);
+            assertEquals(1, dpop.getMetrics().getCount());
+        }
+    }
+
+    @Test
+    void testMetrics() {
+        try (final AsyncDPoP dpop = AsyncDPoP.of(DPoP.of(), 1, 1)) {
+            final AsyncDPoP.SigningMetrics metrics = dpop.getMetrics();
+            assertEquals(0L, metrics.getPercentileNanos(99));
+
+            for (long i = 1; i <= 100; i++) {
+                metrics.record(i * 1000);
+            }
+            assertEquals(100, metrics.getCount());
+            assertEquals(50_500, metrics.getMeanNanos());
+            assertEquals(100_000, metrics.getMaxNanos());
+        }
+    }
+
+    @Test
+    void testPercentiles() {
+        try (final AsyncDPoP dpop = AsyncDPoP.of(DPoP.of(), 1, 1)) {
+            final AsyncDPoP.SigningMetrics metrics = dpop.getMetrics();
+            for (long i = 1; i <= 100; i++) {
+                metrics.record(i * 1000);
+            }
+
+            final long p99 = metrics.getPercentileNanos(99);
+            assertTrue(p99 >= 99_000 && p99 <= 100_000);
+            final long p50 = metrics.getPercentileNanos(50);
+            assertTrue(p50 >= 50_000 && p50 < 100_000);
+            assertThrows(IllegalArgumentException.class, () -> metrics.getPercentileNanos(101));
+        }
+    }
+}
@@ -20,24 +20,34 @@
  */
 package com.inrupt.client.core;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.jose4j.jwa.AlgorithmConstraints.ConstraintType.PERMIT;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.inrupt.client.auth.DPoP;
 
 import java.net.URI;
+import java.security.KeyPair;
+import java.security.Security;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Optional;
 
 import org.jose4j.jwt.JwtClaims;
 import org.jose4j.jwt.consumer.InvalidJwtException;
 import org.jose4j.jwt.consumer.JwtConsumerBuilder;
 import org.jose4j.jwt.consumer.Validator;
+import org.jose4j.keys.RsaKeyUtil;
 import org.jose4j.keys.resolvers.EmbeddedJwkVerificationKeyResolver;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class DPoPManagerTest {
 
-    static final String[] algorithms = new String[] {"ES256", "RS256"};
+    static final String[] algorithms = new String[] {"ES256", "ES384", "RS256", "PS256", "EdDSA"};
 
     @Test
     void testDefaultDpop() {
@@ -55,6 +65,92 @@ class DPoPManagerTest {
         assertDoesNotThrow(() -> verifyDpop(proof, uri, method));
     }
 
+    @Test
+    void testGenerateProofRsa() throws Exception {
+        final KeyPair keypair = new RsaKeyUtil().generateKeyPair(2048);
+        final DPoP dpop = DPoP.of(Collections.singletonMap("RS256", keypair));
+        final String method = "PATCH";
+        final URI uri = URI.create("https://storage.example/苗条/resource?query=a%20b#fragment");
+
+        final String first = dpop.generateProof("RS256", uri, method);
+        final String second = dpop.generateProof("RS256", uri, method);
+        assertDoesNotThrow(() -> verifyDpop(first, uri, method));
+        assertDoesNotThrow(() -> verifyDpop(second, uri, method));
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void testGenerateProofRsaWithProvider() throws Exception {
+        final KeyPair keypair = new RsaKeyUtil().generateKeyPair(2048);
+        final DPoP dpop = DPoP.of(Collections.singletonMap("RS256", keypair), null);
+        final String method = "GET";
+        final URI uri = URI.create("https://storage.example/resource");
+
+        assertEquals(Collections.singleton("RS256"), dpop.algorithms());
+        assertDoesNotThrow(() -> verifyDpop(dpop.generateProof("RS256", uri, method), uri, method));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ES256", "ES384", "PS256"})
+    void testGenerateProofForAlgorithm(final String algorithm) {
+        final DPoP dpop = DPoP.of(algorithm, null);
+        final String method = "GET";
+        final URI uri = URI.create("https://storage.example/resource");
+
+        assertEquals(Collections.singleton(algorithm), dpop.algorithms());
+        assertTrue(dpop.lookupThumbprint(algorithm).isPresent());
+        assertDoesNotThrow(() -> verifyDpop(dpop.generateProof(algorithm, uri, method), uri, method));
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_15)
+    void testGenerateProofEdDsa() {
+        final DPoP dpop = DPoP.of("EdDSA", null);
+        final String method = "GET";
+        final URI uri = URI.create("https://storage.example/resource");
+
+        assertDoesNotThrow(() -> verifyDpop(dpop.generateProof("EdDSA", uri, method), uri, method));
+    }
+
+    @Test
+    void testGenerateProofWithProvider() {
+        final String provider = Security.getProviders("Signature.SHA256withECDSA")[0].getName();
+        final DPoP dpop = DPoP.of("ES256", provider);
+        final String method = "GET";
+        final URI uri = URI.create("https://storage.example/resource");
+
+        assertDoesNotThrow(() -> verifyDpop(dpop.generateProof("ES256", uri, method), uri, method));
+    }
+
+    @Test
+    void testUnknownProvider() {
+        assertThrows(AuthenticationException.class, () -> DPoP.of("ES256", "NoSuchProvider"));
+        assertThrows(AuthenticationException.class, () -> DPoP.of("HS256", null));
+    }
+
+    @Test
+    void testProofClaimsEscaping() {
+        final String claims = DefaultDpopService.ProofSigner.claims("GE\"T\n", URI.create("https://storage.example/"),
+                "n\"once");
+        assertTrue(claims.contains("\"htm\":\"GE\\\"T\\u000a\""));
+        assertTrue(claims.contains("\"htu\":\"https://storage.example/\""));
+        assertTrue(claims.contains("\"nonce\":\"n\\\"once\""));
+    }
+
+    @Test
+    void testGenerateProofWithNonce() {
+        final DPoP dpop = DPoP.of();
+        final String method = "POST";
+        final URI uri = URI.create("https://storage.example/resource");
+        final String proof = dpop.generateProof("ES256", uri, method, "server-nonce");
+
+        assertDoesNotThrow(() -> verifyDpop(proof, uri, method));
+        final String payload = new String(Base64.getUrlDecoder().decode(proof.split("\\.")[1]), UTF_8);
+        assertTrue(payload.contains("\"nonce\":\"server-nonce\""));
+        assertFalse(new String(Base64.getUrlDecoder().decode(dpop.generateProof("ES256", uri, method)
+                .split("\\.")[1]), UTF_8).contains("nonce"));
+    }
+
     @Test
     void testInvalidAlgorithm() {
         final DPoP dpop = DPoP.of();
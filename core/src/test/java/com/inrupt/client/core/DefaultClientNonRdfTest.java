@@ -24,6 +24,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.awaitility.Awaitility.await;
 import static org.jose4j.jwx.HeaderParameterNames.TYPE;
+import static org.jose4j.lang.HashUtil.SHA_256;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.inrupt.client.Client;
@@ -41,6 +42,7 @@ import java.net.URI;
 import java.security.KeyPair;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.io.IOUtils;
@@ -120,6 +122,68 @@ class DefaultClientNonRdfTest {
         assertEquals(201, response.statusCode());
     }
 
+    @Test
+    void testDpopNonceRetry() {
+        final PublicJsonWebKey jwk = getDpopKey("/ec-key.json");
+        final OpenIdConfig config = new OpenIdConfig();
+        config.setProofKeyPairs(Collections.singletonMap("ES256",
+                    new KeyPair(jwk.getPublicKey(), jwk.getPrivateKey())));
+
+        final Map<String, Object> claims = new HashMap<>();
+        claims.put("webid", WEBID);
+        claims.put("sub", SUB);
+        claims.put("iss", ISS);
+        claims.put("azp", AZP);
+        claims.put("cnf", Collections.singletonMap("jkt", jwk.calculateBase64urlEncodedThumbprint(SHA_256)));
+        final String token = generateIdToken(claims);
+
+        final Request request = Request.newBuilder()
+                .uri(URI.create(baseUri.get() + "/dpopNonce"))
+                .GET()
+                .build();
+
+        final Response<Void> response = client.session(OpenIdSession.ofIdToken(token, config))
+            .send(request, Response.BodyHandlers.discarding())
+            .toCompletableFuture().join();
+
+        assertEquals(200, response.statusCode());
+    }
+
+    @Test
+    void testDpopNonceRetryStreamingBody() {
+        final PublicJsonWebKey jwk = getDpopKey("/ec-key.json");
+        final OpenIdConfig config = new OpenIdConfig();
+        config.setProofKeyPairs(Collections.singletonMap("ES256",
+                    new KeyPair(jwk.getPublicKey(), jwk.getPrivateKey())));
+
+        final Map<String, Object> claims = new HashMap<>();
+        claims.put("webid", WEBID);
+        claims.put("sub", SUB);
+        claims.put("iss", ISS);
+        claims.put("azp", AZP);
+        claims.put("cnf", Collections.singletonMap("jkt", jwk.calculateBase64urlEncodedThumbprint(SHA_256)));
+        final String token = generateIdToken(claims);
+
+        // A streaming body is written again for each attempt, and the mock server requires the full body each time
+        final AtomicInteger writes = new AtomicInteger();
+        final Request request = Request.newBuilder()
+                .uri(URI.create(baseUri.get() + "/dpopNonceBody"))
+                .header("Content-Type", "text/plain")
+                .PUT(Request.BodyPublishers.ofWriter(output -> {
+                    writes.incrementAndGet();
+                    output.write("Streamed body".getBytes(UTF_8));
+                }))
+                .build();
+
+        final Response<Void> response = client.session(OpenIdSession.ofIdToken(token, config))
+            .send(request, Response.BodyHandlers.discarding())
+            .toCompletableFuture().join();
+
+        assertEquals(204, response.statusCode());
+        // Unauthenticated, DPoP without a nonce, and DPoP with the server-provided nonce
+        assertTrue(writes.get() >= 3);
+    }
+
     @Test
     void testOfStringPublisherUmaAnonSession() {
         final Request request = Request.newBuilder()
@@ -0,0 +1,330 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.inrupt.client.ClientCache;
+import com.inrupt.client.Headers;
+import com.inrupt.client.Headers.Link;
+import com.inrupt.client.auth.Challenge;
+import com.inrupt.client.spi.CacheBuilderService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class FastHeaderParserTest {
+
+    private static final int ITERATIONS = 5000;
+    private static final String[] LINK_FRAGMENTS = {"<", ">", "https://example.com/a", "/b?c=d", "苗条",
+        "😀", ";", ",", " ", "\t", "rel", "type", "=", "\"", "\\", "value with space", "#", "%20"};
+    private static final String[] CHALLENGE_FRAGMENTS = {"Bearer", "DPoP", "UMA", " ", "\t", ",", "=", "==",
+        "\"", "\\", "realm", "as_uri", "https://example.test", "abc/def", "ES256 RS256", "ticket", "!", "é"};
+    private static final String[] WAC_FRAGMENTS = {"user", "public", "=", "\"", " ", "\t", ",", "read",
+        "write", "append", "control", "-", ":", "WAC-Allow"};
+
+    private final FastHeaderParser fast = new FastHeaderParser();
+    private final DefaultHeaderParser reference = new DefaultHeaderParser();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "<https://example.com/%E8%8B%97%E6%9D%A1>; rel=\"preconnect\"",
+        "<https://one.example.com>; rel=\"preconnect\", <https://two.example.com>; rel=\"meta\"",
+        "<https://one.example.com>; rel=\"rel1\" ; type=\"type1\" ,<https://two.example.com>",
+        "<http://www.w3.org/ns/ldp#Resource>; rel=\"type\",<http://www.w3.org/ns/ldp#Container>; rel=\"type\"",
+        "<../about/./team/>",
+        "<https://example.com/苗条>",
+        "<https://example.com/a>;rel=type;title=\"a \\\"quoted\\\" title\"",
+        "<https://example.com/a>;rel=\"x\",<https://example.com/b>",
+        "<https://example.com/a> ,<https://example.com/b>",
+        "<https://example.com/a>; rel=",
+        "<https://example.com/a>; rel=\"unterminated",
+        "<https://example.com/a b>",
+        "<>",
+        ""})
+    void parseLinkMatchesReference(final String header) {
+        assertEquals(reference.parseLink(Collections.singletonList(header)),
+                fast.parseLink(Collections.singletonList(header)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "UMA as_uri=\"https://example.test\", ticket=value, Bearer, DPoP algs=\"ES256 RS256\"",
+        "Bearer, UMA as_uri=\"https://example.test\", GNAP ticket=1234567890",
+        "Basic abcdef== realm=basic key=\"a value\"",
+        "Basic realm==basic, UMA =not =valid",
+        "In=Valid realm=\"basic\"",
+        "Bearer realm=\"example\" , DPoP",
+        "Bearer abc/def=",
+        "Bearer abc",
+        ""})
+    void parseWwwAuthenticateMatchesReference(final String header) {
+        assertEquals(reference.parseWwwAuthenticate(Collections.singletonList(header)).getChallenges(),
+                fast.parseWwwAuthenticate(Collections.singletonList(header)).getChallenges());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "user=\"read write\", public=\"read\"",
+        "user=\"    read write    \"",
+        "user=\"read\t write\"",
+        "user=\"read\" ,public=\"read\"",
+        "user=\"\", public=\"read\"",
+        "user = \"read\"",
+        "WAC-Allow: user=\"read\",, public=\"read\"",
+        ""})
+    void parseWacAllowMatchesReference(final String header) {
+        assertEquals(reference.parseWacAllow(Collections.singletonList(header)),
+                fast.parseWacAllow(Collections.singletonList(header)));
+    }
+
+    @Test
+    void parseWellFormedLinkWithoutFallback() {
+        final Random random = new Random(41);
+        for (int i = 0; i < ITERATIONS; i++) {
+            final String header = wellFormedLink(random);
+            final List<Link> links = new ArrayList<>();
+            assertTrue(FastHeaderParser.LinkScanner.parse(header, links), header);
+            assertEquals(reference.parseLink(Collections.singletonList(header)), links, header);
+        }
+    }
+
+    @Test
+    void parseWellFormedWwwAuthenticateWithoutFallback() {
+        final Random random = new Random(41);
+        for (int i = 0; i < ITERATIONS; i++) {
+            final String header = wellFormedChallenge(random);
+            final List<Challenge> challenges = new ArrayList<>();
+            assertTrue(FastHeaderParser.WwwAuthenticateScanner.parse(header, challenges), header);
+            assertEquals(reference.parseWwwAuthenticate(Collections.singletonList(header)).getChallenges(),
+                    challenges, header);
+        }
+    }
+
+    @Test
+    void parseWellFormedWacAllowWithoutFallback() {
+        final Random random = new Random(41);
+        for (int i = 0; i < ITERATIONS; i++) {
+            final String header = wellFormedWacAllow(random);
+            final Map<String, Set<String>> accessParams = new HashMap<>();
+            assertTrue(FastHeaderParser.WacAllowScanner.parse(header, accessParams), header);
+            assertEquals(reference.parseWacAllow(Collections.singletonList(header)),
+                    Headers.WacAllow.of(accessParams), header);
+        }
+    }
+
+    @Test
+    void parseRandomHeadersMatchesReference() {
+        final Random random = new Random(42);
+        for (int i = 0; i < ITERATIONS; i++) {
+            final List<String> link = Collections.singletonList(mutate(random, wellFormedLink(random), LINK_FRAGMENTS));
+            assertEquals(reference.parseLink(link), fast.parseLink(link), link.get(0));
+
+            final List<String> challenge = Collections.singletonList(
+                    mutate(random, wellFormedChallenge(random), CHALLENGE_FRAGMENTS));
+            assertEquals(reference.parseWwwAuthenticate(challenge).getChallenges(),
+                    fast.parseWwwAuthenticate(challenge).getChallenges(), challenge.get(0));
+
+            final List<String> wacAllow = Collections.singletonList(
+                    mutate(random, wellFormedWacAllow(random), WAC_FRAGMENTS));
+            assertEquals(reference.parseWacAllow(wacAllow), fast.parseWacAllow(wacAllow), wacAllow.get(0));
+        }
+    }
+
+    @Test
+    void parseMultipleHeaders() {
+        final List<String> headers = new ArrayList<>();
+        headers.add("user=\"read\"");
+        headers.add("WAC-Allow: user=\"write\"");
+        headers.add("public=\"read append\"");
+        assertEquals(reference.parseWacAllow(headers), fast.parseWacAllow(headers));
+    }
+
+    @Test
+    void parseRepeatedHeadersFromCache() {
+        final FastHeaderParser parser = new FastHeaderParser(new MapCacheBuilder());
+        final List<String> link = Collections.singletonList("<https://example.com/a>; rel=\"type\"");
+        final List<Link> first = parser.parseLink(link);
+        final List<Link> second = parser.parseLink(link);
+        assertEquals(reference.parseLink(link), second);
+        assertSame(first.get(0), second.get(0));
+
+        final List<String> challenge = Collections.singletonList("Bearer, DPoP algs=\"ES256\"");
+        assertSame(parser.parseWwwAuthenticate(challenge).getChallenges().get(1),
+                parser.parseWwwAuthenticate(challenge).getChallenges().get(1));
+    }
+
+    @Test
+    void parseRepeatedWacAllowFromCache() {
+        final FastHeaderParser parser = new FastHeaderParser(new MapCacheBuilder());
+        final List<String> headers = new ArrayList<>();
+        headers.add("user=\"read write\"");
+        headers.add("user=\"append\", public=\"read\"");
+        headers.add("user=\"read write\"");
+        assertEquals(reference.parseWacAllow(headers), parser.parseWacAllow(headers));
+        assertEquals(reference.parseWacAllow(headers), parser.parseWacAllow(headers));
+    }
+
+    @Test
+    void testLocalCacheFallback() {
+        // No cache module is on this module's test classpath, so the built-in cache is used
+        final FastHeaderParser parser = new FastHeaderParser();
+        final List<String> header = Collections.singletonList("<https://example.com/a>; rel=\"type\"");
+        assertSame(parser.parseLink(header).get(0), parser.parseLink(header).get(0));
+
+        final ClientCache<String, String> cache = new FastHeaderParser.LruCacheBuilder().build(2, Duration.ZERO);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+        cache.put("c", "3");
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+
+    static final class MapCacheBuilder implements CacheBuilderService {
+        @Override
+        public <T, U> ClientCache<T, U> build(final int maximumSize, final Duration expiration) {
+            final Map<T, U> data = new ConcurrentHashMap<>();
+            return new ClientCache<T, U>() {
+                @Override
+                public U get(final T key) {
+                    return data.get(key);
+                }
+
+                @Override
+                public void put(final T key, final U value) {
+                    data.put(key, value);
+                }
+
+                @Override
+                public void invalidate(final T key) {
+                    data.remove(key);
+                }
+
+                @Override
+                public void invalidateAll() {
+                    data.clear();
+                }
+            };
+        }
+    }
+
+    static String wellFormedLink(final Random random) {
+        final StringBuilder builder = new StringBuilder();
+        final int links = 1 + random.nextInt(3);
+        for (int i = 0; i < links; i++) {
+            // Without whitespace, the lexer reads up to the last '>' as a single URI reference
+            if (i > 0) {
+                builder.append(',').append(pick(random, " ", "\t "));
+            }
+            builder.append("<https://example.com/").append(pick(random, "a", "b/c", "苗条", "%20?x=y#z"))
+                .append('>');
+            final int params = random.nextInt(3);
+            for (int j = 0; j < params; j++) {
+                builder.append(j == 0 ? pick(random, "; ", " ;", " ; ") : pick(random, ";", "; ", " ;"))
+                    .append(pick(random, "rel", "type", "anchor", "title*"))
+                    .append('=').append(pick(random, "type", "\"http://www.w3.org/ns/ldp#Resource\"",
+                                "\"a \\\"b\\\" c\"", "\"\"", "\"苗条\""));
+            }
+        }
+        return builder.toString();
+    }
+
+    static String wellFormedChallenge(final Random random) {
+        final StringBuilder builder = new StringBuilder();
+        final int challenges = 1 + random.nextInt(3);
+        for (int i = 0; i < challenges; i++) {
+            if (i > 0) {
+                builder.append(',').append(pick(random, "", " "));
+            }
+            builder.append(pick(random, "Bearer", "DPoP", "UMA", "GNAP", "basic"));
+            final int groups = random.nextInt(3);
+            for (int j = 0; j < groups; j++) {
+                builder.append(' ');
+                if (random.nextInt(4) == 0) {
+                    builder.append(pick(random, "abc/def==", "YWxhZGRpbjpvcGVuc2VzYW1l=", "a-b.c_d~e+f/"));
+                } else {
+                    final int params = 1 + random.nextInt(3);
+                    for (int k = 0; k < params; k++) {
+                        if (k > 0) {
+                            builder.append(pick(random, ",", ", ", " , ", " ,"));
+                        }
+                        builder.append(pick(random, "realm", "as_uri", "ticket", "algs", "error"))
+                            .append('=').append(pick(random, "value", "1234567890", "\"https://example.test\"",
+                                        "\"ES256 RS256\"", "\"with \\\"escapes\\\"\""));
+                    }
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    static String wellFormedWacAllow(final Random random) {
+        final StringBuilder builder = new StringBuilder();
+        final int params = 1 + random.nextInt(3);
+        for (int i = 0; i < params; i++) {
+            if (i > 0) {
+                builder.append(pick(random, ",", ", ", " , ", "\t,"));
+            }
+            builder.append(pick(random, "user", "public", "other")).append("=\"")
+                .append(pick(random, "", "read", "read write", "  append   control ", "read\twrite"))
+                .append('"');
+        }
+        return builder.toString();
+    }
+
+    static String mutate(final Random random, final String header, final String... fragments) {
+        final StringBuilder builder = new StringBuilder(header);
+        final int mutations = random.nextInt(3);
+        for (int i = 0; i < mutations; i++) {
+            final int pos = random.nextInt(builder.length() + 1);
+            switch (random.nextInt(3)) {
+                case 0:
+                    builder.insert(pos, pick(random, fragments));
+                    break;
+                case 1:
+                    if (pos < builder.length()) {
+                        builder.deleteCharAt(pos);
+                    }
+                    break;
+                default:
+                    builder.setLength(pos);
+                    break;
+            }
+        }
+        return builder.toString();
+    }
+
+    static String pick(final Random random, final String... values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -25,6 +25,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
 import com.inrupt.client.Request;
 
 import java.io.IOException;
@@ -41,6 +42,10 @@ class MockHttpService {
     private static final String APPLICATION_JSON = "application/json";
     private static final String TEXT_TURTLE = "text/turtle";
     private static final String TEXT_PLAIN = "text/plain";
+    private static final String DPOP_NONCE = "dpop-nonce";
+    private static final String NONCE_ISSUED = "nonce-issued";
+    private static final String DPOP_NONCE_BODY = "dpop-nonce-body";
+    private static final String NONCE_BODY = "Streamed body";
 
     private final WireMockServer wireMockServer;
 
@@ -146,6 +151,65 @@ class MockHttpService {
                         .withHeader("WWW-Authenticate", "Bearer, DPoP algs=\"ES256\", " +
                             "UMA ticket=\"ticket-67890\", as_uri=\"" + wireMockServer.baseUrl() + "\"")));
 
+        wireMockServer.stubFor(get(urlEqualTo("/dpopNonce"))
+                    .atPriority(1)
+                    .inScenario(DPOP_NONCE)
+                    .whenScenarioStateIs(Scenario.STARTED)
+                    .withHeader("User-Agent", equalTo(USER_AGENT))
+                    .withHeader("Authorization", containing("DPoP "))
+                    .willReturn(aResponse()
+                        .withStatus(401)
+                        .withHeader("DPoP-Nonce", "nonce-12345")
+                        .withHeader("WWW-Authenticate", "DPoP error=\"use_dpop_nonce\", algs=\"ES256\""))
+                    .willSetStateTo(NONCE_ISSUED));
+
+        wireMockServer.stubFor(get(urlEqualTo("/dpopNonce"))
+                    .atPriority(1)
+                    .inScenario(DPOP_NONCE)
+                    .whenScenarioStateIs(NONCE_ISSUED)
+                    .withHeader("User-Agent", equalTo(USER_AGENT))
+                    .withHeader("Authorization", containing("DPoP "))
+                    .withHeader("DPoP", matching(".+"))
+                    .willReturn(aResponse()
+                        .withStatus(200)));
+
+        wireMockServer.stubFor(get(urlEqualTo("/dpopNonce"))
+                    .atPriority(2)
+                    .withHeader("User-Agent", equalTo(USER_AGENT))
+                    .willReturn(aResponse()
+                        .withStatus(401)
+                        .withHeader("WWW-Authenticate", "DPoP algs=\"ES256\"")));
+
+        // Every attempt must carry the complete request body, including the retry with a DPoP nonce
+        wireMockServer.stubFor(put(urlEqualTo("/dpopNonceBody"))
+                    .atPriority(1)
+                    .inScenario(DPOP_NONCE_BODY)
+                    .whenScenarioStateIs(Scenario.STARTED)
+                    .withHeader("Authorization", containing("DPoP "))
+                    .withRequestBody(equalTo(NONCE_BODY))
+                    .willReturn(aResponse()
+                        .withStatus(401)
+                        .withHeader("DPoP-Nonce", "nonce-67890")
+                        .withHeader("WWW-Authenticate", "DPoP error=\"use_dpop_nonce\", algs=\"ES256\""))
+                    .willSetStateTo(NONCE_ISSUED));
+
+        wireMockServer.stubFor(put(urlEqualTo("/dpopNonceBody"))
+                    .atPriority(1)
+                    .inScenario(DPOP_NONCE_BODY)
+                    .whenScenarioStateIs(NONCE_ISSUED)
+                    .withHeader("Authorization", containing("DPoP "))
+                    .withHeader("DPoP", matching(".+"))
+                    .withRequestBody(equalTo(NONCE_BODY))
+                    .willReturn(aResponse()
+                        .withStatus(204)));
+
+        wireMockServer.stubFor(put(urlEqualTo("/dpopNonceBody"))
+                    .atPriority(2)
+                    .withRequestBody(equalTo(NONCE_BODY))
+                    .willReturn(aResponse()
+                        .withStatus(401)
+                        .withHeader("WWW-Authenticate", "DPoP algs=\"ES256\"")));
+
         wireMockServer.stubFor(get(urlEqualTo("/solid.png"))
                     .withHeader("User-Agent", equalTo(USER_AGENT))
                     .willReturn(aResponse()
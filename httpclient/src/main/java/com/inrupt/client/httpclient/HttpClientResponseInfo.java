@@ -23,23 +23,28 @@ package com.inrupt.client.httpclient;
 import com.inrupt.client.Headers;
 import com.inrupt.client.Response.ResponseInfo;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpResponse;
 import java.nio.ByteBuffer;
 
 class HttpClientResponseInfo implements ResponseInfo {
 
-    private final HttpResponse<byte[]> response;
-    private final ByteBuffer responseBody;
+    private final HttpResponse<InputStream> response;
+    private ByteBuffer responseBody;
 
-    public HttpClientResponseInfo(final HttpResponse<byte[]> response, final ByteBuffer body) {
+    public HttpClientResponseInfo(final HttpResponse<InputStream> response) {
         this.response = response;
-        this.responseBody = body;
     }
 
     @Override
     public Headers headers() {
-        return Headers.of(response.headers().map());
+        // HttpHeaders is immutable and case-insensitive, so it can back the headers without a copy
+        final HttpHeaders headers = response.headers();
+        return Headers.of(headers.map().keySet(), headers::allValues);
     }
 
     @Override
@@ -53,7 +58,30 @@ class HttpClientResponseInfo implements ResponseInfo {
     }
 
     @Override
-    public ByteBuffer body() {
+    public synchronized ByteBuffer body() {
+        if (responseBody == null) {
+            try (final InputStream input = response.body()) {
+                responseBody = ByteBuffer.wrap(input.readAllBytes());
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("Unable to handle response data", ex);
+            }
+        }
         return responseBody;
     }
+
+    @Override
+    public synchronized InputStream bodyAsStream() {
+        if (responseBody == null) {
+            return response.body();
+        }
+        return ResponseInfo.super.bodyAsStream();
+    }
+
+    void close() {
+        try {
+            response.body().close();
+        } catch (final IOException ex) {
+            // The body has already been handled; there is nothing left to recover
+        }
+    }
 }
@@ -26,48 +26,63 @@ package com.inrupt.client.httpclient;
 import com.inrupt.client.Request;
 import com.inrupt.client.Response;
 import com.inrupt.client.spi.HttpService;
+import com.inrupt.client.util.IOUtils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * A {@link HttpService} using the {@code java.net.http.HttpClient}.
+ *
+ * <p>Response body handlers read directly from the network stream, so a handler that parses a response blocks
+ * until the body has arrived. Handlers therefore run on a dedicated executor rather than on the
+ * {@link HttpClient}'s own executor, which would otherwise be unable to complete other exchanges in the meantime.
  */
 public class HttpClientService implements HttpService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientService.class);
 
     private final HttpClient client;
+    private final Executor handlerExecutor;
 
     /**
      * Create an HTTP client service with a default {@link HttpClient}.
      */
     public HttpClientService() {
-        this(HttpClient.newBuilder().followRedirects(HttpClient.Redirect.ALWAYS).build());
+        this(HttpClient.newBuilder().followRedirects(HttpClient.Redirect.ALWAYS).build(), HandlerExecutor.INSTANCE);
     }
 
-    private HttpClientService(final HttpClient client) {
+    private HttpClientService(final HttpClient client, final Executor handlerExecutor) {
         LOGGER.debug("Initializing HttpClient service for HTTP client support");
-        this.client = client;
+        this.client = Objects.requireNonNull(client, "HttpClient may not be null!");
+        this.handlerExecutor = Objects.requireNonNull(handlerExecutor, "Handler executor may not be null!");
     }
 
     @Override
     public <T> CompletionStage<Response<T>> send(final Request request, final Response.BodyHandler<T> handler) {
         final var builder = HttpRequest.newBuilder(request.uri());
 
-        final var publisher = request.bodyPublisher().map(Request.BodyPublisher::getBytes)
-            .map(buf -> HttpRequest.BodyPublishers.ofByteArray(buf.array()))
+        final var publisher = request.bodyPublisher().map(HttpClientService::prepareBody)
             .orElseGet(HttpRequest.BodyPublishers::noBody);
 
         builder.method(request.method(), publisher);
+        if (publisher.contentLength() < 0 && "http".equalsIgnoreCase(request.uri().getScheme())) {
+            // A cleartext HTTP/2 upgrade cannot carry a body of unknown length
+            builder.version(HttpClient.Version.HTTP_1_1);
+        }
         request.timeout().ifPresent(builder::timeout);
 
         for (final Map.Entry<String, List<String>> entry : request.headers().asMap().entrySet()) {
@@ -84,17 +99,35 @@ public class HttpClientService implements HttpService {
             }
         }
 
-        return client.sendAsync(req, HttpResponse.BodyHandlers.ofByteArray())
-            .thenApply(res -> {
+        return client.sendAsync(req, HttpResponse.BodyHandlers.ofInputStream())
+            .thenApplyAsync(res -> {
                 if (LOGGER.isDebugEnabled()) {
                     LOGGER.debug("Response Status Code: {}", res.statusCode());
                     if (LOGGER.isTraceEnabled()) {
                         LOGGER.trace("Response Headers: {}", res.headers());
                     }
                 }
-                final var info = new HttpClientResponseInfo(res, ByteBuffer.wrap(res.body()));
-                return new HttpClientResponse<>(res.uri(), info, handler.apply(info));
-            });
+                final var info = new HttpClientResponseInfo(res);
+                try {
+                    return new HttpClientResponse<>(res.uri(), info, handler.apply(info));
+                } finally {
+                    info.close();
+                }
+            }, handlerExecutor);
+    }
+
+    static HttpRequest.BodyPublisher prepareBody(final Request.BodyPublisher publisher) {
+        if (publisher.contentLength() < 0) {
+            // Stream the body through a pipe, so that it is serialized as it is sent
+            return HttpRequest.BodyPublishers.ofInputStream(() -> IOUtils.pipe(output -> {
+                try {
+                    publisher.writeTo(output);
+                } catch (final IOException ex) {
+                    throw new UncheckedIOException("Error writing request body", ex);
+                }
+            }));
+        }
+        return HttpRequest.BodyPublishers.ofByteArray(publisher.getBytes().array());
     }
 
     /**
@@ -104,6 +137,36 @@ public class HttpClientService implements HttpService {
      * @return an HTTP client service
      */
     public static HttpClientService ofHttpClient(final HttpClient client) {
-        return new HttpClientService(client);
+        return new HttpClientService(client, HandlerExecutor.INSTANCE);
+    }
+
+    /**
+     * Create an HTTP client service with a pre-configured {@link HttpClient} and an executor for response handlers.
+     *
+     * <p>Response handlers may block while reading a response body, so the executor should not be the one used by
+     * the {@link HttpClient}.
+     *
+     * @param client the HttpClient
+     * @param handlerExecutor the executor on which response body handlers run
+     * @return an HTTP client service
+     */
+    public static HttpClientService ofHttpClient(final HttpClient client, final Executor handlerExecutor) {
+        return new HttpClientService(client, handlerExecutor);
+    }
+
+    /**
+     * A shared executor for response handlers, which may block while a response body is read.
+     */
+    static final class HandlerExecutor {
+        private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+        static final Executor INSTANCE = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "inrupt-httpclient-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private HandlerExecutor() {
+            // Prevent instantiation
+        }
     }
 }
@@ -20,8 +20,52 @@
  */
 package com.inrupt.client.httpclient;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.inrupt.client.Request;
+import com.inrupt.client.Response;
+import com.inrupt.client.spi.HttpService;
 import com.inrupt.client.test.HttpServices;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
 
 class HttpclientServiceTest extends HttpServices {
 
+    @Test
+    void testHandlerExecutor() throws IOException {
+        final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/handler", exchange -> {
+            final byte[] body = "Handled".getBytes(UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (final OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.start();
+
+        // Response handlers run on the supplied executor rather than on the HttpClient's executor
+        final AtomicInteger tasks = new AtomicInteger();
+        final HttpService service = HttpClientService.ofHttpClient(HttpClient.newHttpClient(), runnable -> {
+            tasks.incrementAndGet();
+            runnable.run();
+        });
+        try {
+            final URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/handler");
+            final Response<String> response = service.send(Request.newBuilder(uri).GET().build(),
+                    Response.BodyHandlers.ofString()).toCompletableFuture().join();
+            assertEquals("Handled", response.body());
+            assertEquals(1, tasks.get());
+        } finally {
+            server.stop(0);
+        }
+    }
 }
@@ -22,7 +22,6 @@ package com.inrupt.client.jena;
 
 import com.inrupt.client.Response;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 
@@ -52,7 +51,7 @@ public final class JenaBodyHandlers {
     public static Response.BodyHandler<Model> ofModel() {
         return responseInfo -> responseInfo.headers().firstValue(CONTENT_TYPE)
             .map(JenaBodyHandlers::toJenaLang).map(lang -> {
-                try (final var input = new ByteArrayInputStream(responseInfo.body().array())) {
+                try (final var input = responseInfo.bodyAsStream()) {
                     final var model = ModelFactory.createDefaultModel();
                     RDFDataMgr.read(model, input, responseInfo.uri().toString(), lang);
                     return model;
@@ -72,7 +71,7 @@ public final class JenaBodyHandlers {
     public static Response.BodyHandler<Graph> ofGraph() {
         return responseInfo -> responseInfo.headers().firstValue(CONTENT_TYPE)
             .map(JenaBodyHandlers::toJenaLang).map(lang -> {
-                try (final var input = new ByteArrayInputStream(responseInfo.body().array())) {
+                try (final var input = responseInfo.bodyAsStream()) {
                     final var graph = GraphMemFactory.createDefaultGraph();
                     RDFDataMgr.read(graph, input, responseInfo.uri().toString(), lang);
                     return graph;
@@ -92,7 +91,7 @@ public final class JenaBodyHandlers {
     public static Response.BodyHandler<Dataset> ofDataset() {
         return responseInfo -> responseInfo.headers().firstValue(CONTENT_TYPE)
             .map(JenaBodyHandlers::toJenaLang).map(lang -> {
-                try (final var input = new ByteArrayInputStream(responseInfo.body().array())) {
+                try (final var input = responseInfo.bodyAsStream()) {
                     final var dataset = DatasetFactory.create();
                     RDFDataMgr.read(dataset, input, responseInfo.uri().toString(), lang);
                     return dataset;
@@ -20,34 +20,105 @@
  */
 package com.inrupt.client.jena;
 
+import com.apicatalog.jsonld.JsonLdOptions;
+import com.inrupt.client.spi.BinaryRDFSyntax;
+import com.inrupt.client.spi.QuadSink;
 import com.inrupt.client.spi.RdfService;
+import com.inrupt.client.util.ParallelLineParser;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Supplier;
 
 import org.apache.commons.rdf.api.Dataset;
 import org.apache.commons.rdf.api.Graph;
 import org.apache.commons.rdf.api.RDFSyntax;
 import org.apache.jena.commonsrdf.JenaCommonsRDF;
 import org.apache.jena.graph.GraphMemFactory;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFLanguages;
+import org.apache.jena.riot.RDFParser;
 import org.apache.jena.riot.RiotException;
+import org.apache.jena.riot.lang.LabelToNode;
+import org.apache.jena.riot.lang.LangJSONLD11;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.apache.jena.sparql.core.DatasetGraph;
 import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.Quad;
 
 /**
  * An {@link RdfService} that uses the Jena library.
+ *
+ * <p>By default, parsed datasets are held in a lightweight, non-transactional in-memory store, which is well suited
+ * to short-lived, read-mostly resources. Unlike the transactional store used by earlier versions, this store is
+ * <em>not</em> safe for concurrent modification: a dataset that is shared between threads must be guarded by the
+ * application. Applications that load this service with the {@link java.util.ServiceLoader} can restore the
+ * transactional store by setting the {@value #DATASET_PROPERTY} system property to {@code transactional}. Other
+ * storage models may be supplied directly via {@link #ofDatasetFactory(Supplier)}.
  */
 public class JenaService implements RdfService {
 
     private static final String UNSUPPORTED_SYNTAX = "Unsupported syntax: ";
+    private static final ParallelLineParser LINE_PARSER = ParallelLineParser.ofDefaultExecutor();
+    private static final List<RDFSyntax> BINARY_SYNTAXES = List.of(BinaryRDFSyntax.RDF_THRIFT);
+
+    /**
+     * The system property that selects the dataset store used by {@link #JenaService()}.
+     *
+     * <p>Supported values are {@code general}, the default, and {@code transactional}.
+     */
+    public static final String DATASET_PROPERTY = "com.inrupt.client.jena.dataset";
+
+    private final Supplier<DatasetGraph> datasetFactory;
+
+    /**
+     * Create a Jena-based RDF service with the dataset factory selected by the {@value #DATASET_PROPERTY}
+     * system property.
+     */
+    public JenaService() {
+        this(datasetFactory(System.getProperty(DATASET_PROPERTY)));
+    }
+
+    private JenaService(final Supplier<DatasetGraph> datasetFactory) {
+        this.datasetFactory = Objects.requireNonNull(datasetFactory, "Dataset factory may not be null!");
+    }
+
+    /**
+     * Create a Jena-based RDF service that parses data into datasets created by the given factory.
+     *
+     * @param datasetFactory the dataset factory
+     * @return an RDF service
+     */
+    public static JenaService ofDatasetFactory(final Supplier<DatasetGraph> datasetFactory) {
+        return new JenaService(datasetFactory);
+    }
+
+    static Supplier<DatasetGraph> datasetFactory(final String store) {
+        if (store == null || "general".equalsIgnoreCase(store)) {
+            return DatasetGraphFactory::createGeneral;
+        }
+        if ("transactional".equalsIgnoreCase(store)) {
+            return DatasetGraphFactory::createTxnMem;
+        }
+        throw new IllegalArgumentException("Unsupported value for " + DATASET_PROPERTY + ": " + store);
+    }
 
     @Override
     public void fromDataset(final Dataset dataset, final RDFSyntax syntax, final OutputStream output)
             throws IOException {
-        final var lang = JenaCommonsRDF.toJena(syntax).orElseThrow(() ->
-                new IllegalArgumentException(UNSUPPORTED_SYNTAX + syntax.title()));
+        final var lang = toLang(syntax);
         try {
             if (syntax.supportsDataset()) {
                 RDFDataMgr.write(output, JenaCommonsRDF.toJena(dataset), lang);
@@ -65,8 +136,7 @@ public class JenaService implements RdfService {
 
     @Override
     public void fromGraph(final Graph graph, final RDFSyntax syntax, final OutputStream output) throws IOException {
-        final var lang = JenaCommonsRDF.toJena(syntax).orElseThrow(() ->
-                new IllegalArgumentException(UNSUPPORTED_SYNTAX + syntax.title()));
+        final var lang = toLang(syntax);
         try {
             RDFDataMgr.write(output, JenaCommonsRDF.toJena(graph), lang);
         } catch (final RiotException ex) {
@@ -76,11 +146,10 @@ public class JenaService implements RdfService {
 
     @Override
     public Dataset toDataset(final RDFSyntax syntax, final InputStream input, final String baseUri) throws IOException {
-        final var lang = JenaCommonsRDF.toJena(syntax).orElseThrow(() ->
-                new IllegalArgumentException(UNSUPPORTED_SYNTAX + syntax.title()));
-        final var dataset = DatasetGraphFactory.createTxnMem();
+        final var lang = toLang(syntax);
+        final var dataset = datasetFactory.get();
         try {
-            RDFDataMgr.read(dataset, input, baseUri, lang);
+            read(lang, input, baseUri, StreamRDFLib.dataset(dataset));
         } catch (final RiotException ex) {
             throw new IOException("Error parsing dataset", ex);
         }
@@ -90,15 +159,103 @@ public class JenaService implements RdfService {
 
     @Override
     public Graph toGraph(final RDFSyntax syntax, final InputStream input, final String baseUri) throws IOException {
-        final var lang = JenaCommonsRDF.toJena(syntax).orElseThrow(() ->
-                new IllegalArgumentException(UNSUPPORTED_SYNTAX + syntax.title()));
+        final var lang = toLang(syntax);
         final var graph = GraphMemFactory.createDefaultGraph();
         try {
-            RDFDataMgr.read(graph, input, baseUri, lang);
+            read(lang, input, baseUri, StreamRDFLib.graph(graph));
         } catch (final RiotException ex) {
             throw new IOException("Error parsing graph", ex);
         }
         return JenaCommonsRDF.fromJena(graph);
     }
-}
 
+    @Override
+    public List<RDFSyntax> getBinarySyntaxes() {
+        return BINARY_SYNTAXES;
+    }
+
+    @Override
+    public void parse(final RDFSyntax syntax, final InputStream input, final String baseUri, final QuadSink sink)
+            throws IOException {
+        final var lang = toLang(syntax);
+        try {
+            read(lang, input, baseUri, new StreamRDFBase() {
+                @Override
+                public void triple(final Triple triple) {
+                    sink.accept(JenaCommonsRDF.fromJena(Quad.create(Quad.defaultGraphIRI, triple)));
+                }
+
+                @Override
+                public void quad(final Quad quad) {
+                    sink.accept(JenaCommonsRDF.fromJena(quad));
+                }
+            });
+        } catch (final RiotException ex) {
+            throw new IOException("Error parsing input", ex);
+        }
+    }
+
+    /**
+     * Parse an input stream into a destination stream.
+     *
+     * <p>Large documents in a line-based syntax are split into chunks and parsed in parallel; smaller documents are
+     * streamed through the sequential parser. All chunks share a single blank node scope, so a blank node label
+     * denotes the same node throughout the document. JSON-LD contexts are loaded
+     * with the shared {@link JsonLdContextLoader}.
+     */
+    static void read(final Lang lang, final InputStream input, final String baseUri, final StreamRDF destination)
+            throws IOException {
+        if (RDFLanguages.JSONLD.equals(lang)) {
+            // Resolve remote contexts through the context loader, so that well-known contexts are not fetched
+            RDFParser.source(input).base(baseUri).lang(lang)
+                .set(LangJSONLD11.JSONLD_OPTIONS, new JsonLdOptions(JsonLdContextLoader.getInstance()))
+                .parse(destination);
+            return;
+        }
+        if (!RDFLanguages.NTRIPLES.equals(lang) && !RDFLanguages.NQUADS.equals(lang)) {
+            RDFParser.source(input).base(baseUri).lang(lang).parse(destination);
+            return;
+        }
+
+        final var buffered = input.markSupported() ? input : new BufferedInputStream(input);
+        if (!LINE_PARSER.exceedsThreshold(buffered)) {
+            RDFParser.source(buffered).base(baseUri).lang(lang).parse(destination);
+            return;
+        }
+
+        final var scope = UUID.randomUUID();
+        destination.start();
+        LINE_PARSER.parse(buffered, chunk -> {
+            final List<Quad> quads = new ArrayList<>();
+            RDFParser.source(new ByteArrayInputStream(chunk)).base(baseUri).lang(lang)
+                .labelToNode(LabelToNode.createScopeByDocumentHash(scope))
+                .parse(new StreamRDFBase() {
+                    @Override
+                    public void triple(final Triple triple) {
+                        quads.add(Quad.create(Quad.defaultGraphNodeGenerated, triple));
+                    }
+
+                    @Override
+                    public void quad(final Quad quad) {
+                        quads.add(quad);
+                    }
+                });
+            return quads;
+        }, quads -> quads.forEach(quad -> {
+            if (quad.isTriple()) {
+                destination.triple(quad.asTriple());
+            } else {
+                destination.quad(quad);
+            }
+        }));
+        destination.finish();
+    }
+
+    static Lang toLang(final RDFSyntax syntax) {
+        if (BinaryRDFSyntax.RDF_THRIFT.equals(syntax)) {
+            return RDFLanguages.RDFTHRIFT;
+        }
+        return JenaCommonsRDF.toJena(syntax).orElseThrow(() ->
+                new IllegalArgumentException(UNSUPPORTED_SYNTAX + syntax.title()));
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.jena;
+
+import com.apicatalog.jsonld.JsonLdError;
+import com.apicatalog.jsonld.JsonLdErrorCode;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.http.media.MediaType;
+import com.apicatalog.jsonld.loader.DocumentLoader;
+import com.apicatalog.jsonld.loader.DocumentLoaderOptions;
+import com.apicatalog.jsonld.loader.LRUDocumentCache;
+import com.apicatalog.jsonld.loader.SchemeRouter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A JSON-LD document loader that serves well-known contexts without network access.
+ *
+ * <p>Contexts that are bundled with this library, or registered by an application, are parsed once and then
+ * served from memory. Any other document is fetched with a fallback loader, and the results are held in a
+ * bounded, least-recently-used cache.
+ */
+public final class JsonLdContextLoader implements DocumentLoader {
+
+    /** The default number of remote documents held in the cache. */
+    public static final int DEFAULT_CACHE_SIZE = 100;
+
+    private static final Map<URI, String> BUNDLED_CONTEXTS = Map.of(
+            URI.create("https://www.w3.org/ns/solid/oidc-context.jsonld"), "solid-oidc-context.jsonld",
+            URI.create("https://www.w3.org/2018/credentials/v1"), "credentials-v1-context.jsonld",
+            URI.create("https://w3id.org/security/suites/ed25519-2020/v1"), "ed25519-2020-context.jsonld");
+
+    private static final JsonLdContextLoader INSTANCE = of(SchemeRouter.defaultInstance(), DEFAULT_CACHE_SIZE);
+
+    private final Map<URI, Document> contexts = new ConcurrentHashMap<>();
+    private final DocumentLoader fallback;
+
+    private JsonLdContextLoader(final DocumentLoader fallback) {
+        this.fallback = fallback;
+    }
+
+    /**
+     * Get the shared loader, which fetches unknown documents over the network.
+     *
+     * @return the shared document loader
+     */
+    public static JsonLdContextLoader getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Create a loader that delegates unknown documents to another loader.
+     *
+     * @param fallback the loader for documents that are neither bundled nor registered
+     * @param cacheSize the maximum number of fallback documents to cache
+     * @return the document loader
+     */
+    public static JsonLdContextLoader of(final DocumentLoader fallback, final int cacheSize) {
+        Objects.requireNonNull(fallback, "Fallback loader may not be null!");
+        return new JsonLdContextLoader(new LRUDocumentCache(fallback, cacheSize));
+    }
+
+    /**
+     * Create a loader that never accesses the network.
+     *
+     * <p>Only bundled and registered documents can be loaded.
+     *
+     * @return the document loader
+     */
+    public static JsonLdContextLoader offline() {
+        return new JsonLdContextLoader((url, options) -> {
+            throw new JsonLdError(JsonLdErrorCode.LOADING_DOCUMENT_FAILED, "Unknown JSON-LD document: " + url);
+        });
+    }
+
+    /**
+     * Register a JSON-LD document, such as a context, so that it is served without network access.
+     *
+     * @param url the document URL
+     * @param input the document content
+     * @return this loader
+     * @throws IOException if the document could not be parsed
+     */
+    public JsonLdContextLoader register(final URI url, final InputStream input) throws IOException {
+        Objects.requireNonNull(url, "Document URL may not be null!");
+        contexts.put(url, parse(url, input));
+        return this;
+    }
+
+    @Override
+    public Document loadDocument(final URI url, final DocumentLoaderOptions options) throws JsonLdError {
+        final Document context = contexts.get(url);
+        if (context != null) {
+            return context;
+        }
+
+        final String resource = BUNDLED_CONTEXTS.get(url);
+        if (resource != null) {
+            return contexts.computeIfAbsent(url, this::loadBundled);
+        }
+        return fallback.loadDocument(url, options);
+    }
+
+    Document loadBundled(final URI url) {
+        try (final InputStream input = JsonLdContextLoader.class.getResourceAsStream(BUNDLED_CONTEXTS.get(url))) {
+            return parse(url, input);
+        } catch (final IOException ex) {
+            throw new IllegalStateException("Unable to load bundled JSON-LD context: " + url, ex);
+        }
+    }
+
+    static Document parse(final URI url, final InputStream input) throws IOException {
+        try {
+            final Document document = JsonDocument.of(MediaType.JSON_LD, input);
+            document.setDocumentUrl(url);
+            return document;
+        } catch (final JsonLdError ex) {
+            throw new IOException("Unable to parse JSON-LD document: " + url, ex);
+        }
+    }
+}
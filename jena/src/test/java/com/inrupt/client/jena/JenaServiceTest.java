@@ -22,6 +22,7 @@ package com.inrupt.client.jena;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.inrupt.client.spi.RDFFactory;
 import com.inrupt.client.spi.RdfService;
 import com.inrupt.client.spi.ServiceProvider;
 import com.inrupt.client.test.RdfServices;
@@ -46,6 +47,7 @@ import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.sparql.core.DatasetGraph;
 import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.mem.DatasetGraphInMemory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -98,6 +100,37 @@ class JenaServiceTest extends RdfServices {
         }
     }
 
+    @Test
+    void configuredDatasetFactory() {
+        assertInstanceOf(DatasetGraphInMemory.class, JenaService.datasetFactory("transactional").get());
+        assertFalse(JenaService.datasetFactory(null).get() instanceof DatasetGraphInMemory);
+        assertThrows(IllegalArgumentException.class, () -> JenaService.datasetFactory("unknown"));
+    }
+
+    @Test
+    void parseToDatasetCustomFactory() throws IOException {
+        final var transactional = DatasetGraphFactory.createTxnMem();
+        final var custom = JenaService.ofDatasetFactory(() -> transactional);
+        try (final var input = JenaServiceTest.class.getResourceAsStream("/relativeURIs.ttl")) {
+            final var dataset = custom.toDataset(RDFSyntax.TURTLE, input, RdfTestModel.TEST_NAMESPACE);
+            assertEquals(2, dataset.size());
+            assertEquals(2, transactional.getDefaultGraph().size());
+        }
+    }
+
+    @Test
+    void parseJsonLdWithBundledContext() throws IOException {
+        try (final var input = JenaServiceTest.class.getResourceAsStream("/clientId.jsonld")) {
+            final var graph = service.toGraph(RDFSyntax.JSONLD, input, null);
+            final var rdf = RDFFactory.getInstance();
+            final var subject = rdf.createIRI("https://app.example/id");
+            assertTrue(graph.contains(subject, rdf.createIRI("http://www.w3.org/ns/solid/oidc#client_name"),
+                        rdf.createLiteral("Example Application")));
+            assertTrue(graph.contains(subject, rdf.createIRI("http://www.w3.org/ns/solid/oidc#redirect_uris"),
+                        rdf.createIRI("https://app.example/callback")));
+        }
+    }
+
     @Test
     void serializeFromDatasetTRIGRoundtrip() throws IOException {
         try (final var output = new ByteArrayOutputStream()) {
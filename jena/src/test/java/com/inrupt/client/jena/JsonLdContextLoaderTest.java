@@ -0,0 +1,107 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.jena;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.apicatalog.jsonld.JsonLdError;
+import com.apicatalog.jsonld.JsonLdOptions;
+import com.apicatalog.jsonld.loader.DocumentLoaderOptions;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.lang.LangJSONLD11;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.junit.jupiter.api.Test;
+
+class JsonLdContextLoaderTest {
+
+    static final URI SOLID_OIDC = URI.create("https://www.w3.org/ns/solid/oidc-context.jsonld");
+    static final URI CUSTOM = URI.create("https://example.test/context.jsonld");
+
+    @Test
+    void testBundledContext() throws JsonLdError {
+        final var loader = JsonLdContextLoader.offline();
+        final var document = loader.loadDocument(SOLID_OIDC, new DocumentLoaderOptions());
+        assertEquals(SOLID_OIDC, document.getDocumentUrl());
+        assertTrue(document.getJsonContent().isPresent());
+        // The bundled context is parsed only once
+        assertSame(document, loader.loadDocument(SOLID_OIDC, new DocumentLoaderOptions()));
+    }
+
+    @Test
+    void testOfflineVerifiableCredential() throws IOException {
+        final var dataset = DatasetGraphFactory.createGeneral();
+        try (final var input = JsonLdContextLoaderTest.class.getResourceAsStream("/verifiableCredential.jsonld")) {
+            RDFParser.source(input).lang(Lang.JSONLD)
+                .set(LangJSONLD11.JSONLD_OPTIONS, new JsonLdOptions(JsonLdContextLoader.offline()))
+                .parse(dataset);
+        }
+
+        final var credential = NodeFactory.createURI(
+                "https://accessgrant.example/credential/5c6060ad-2f16-4bc1-b022-dffb46bff626");
+        assertTrue(dataset.contains(Node.ANY, credential,
+                    NodeFactory.createURI("https://www.w3.org/2018/credentials#issuer"),
+                    NodeFactory.createURI("https://accessgrant.example")));
+        // The proof is described with the bundled Ed25519 signature suite context
+        assertTrue(dataset.contains(Node.ANY, Node.ANY,
+                    NodeFactory.createURI("https://w3id.org/security#proofPurpose"),
+                    NodeFactory.createURI("https://w3id.org/security#assertionMethod")));
+    }
+
+    @Test
+    void testRegisteredContext() throws IOException, JsonLdError {
+        final var loader = JsonLdContextLoader.offline();
+        assertThrows(JsonLdError.class, () -> loader.loadDocument(CUSTOM, new DocumentLoaderOptions()));
+
+        loader.register(CUSTOM, new ByteArrayInputStream(
+                    "{\"@context\": {\"name\": \"https://example.test/name\"}}".getBytes(UTF_8)));
+        assertEquals(CUSTOM, loader.loadDocument(CUSTOM, new DocumentLoaderOptions()).getDocumentUrl());
+    }
+
+    @Test
+    void testInvalidContext() {
+        final var loader = JsonLdContextLoader.offline();
+        assertThrows(IOException.class, () ->
+                loader.register(CUSTOM, new ByteArrayInputStream("not json".getBytes(UTF_8))));
+    }
+
+    @Test
+    void testFallbackCache() throws JsonLdError {
+        final var count = new AtomicInteger();
+        final var loader = JsonLdContextLoader.of((url, options) -> {
+            count.incrementAndGet();
+            return JsonLdContextLoader.offline().loadDocument(SOLID_OIDC, options);
+        }, 10);
+
+        loader.loadDocument(CUSTOM, new DocumentLoaderOptions());
+        loader.loadDocument(CUSTOM, new DocumentLoaderOptions());
+        assertEquals(1, count.get());
+    }
+}
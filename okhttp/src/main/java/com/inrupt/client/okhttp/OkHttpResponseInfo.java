@@ -24,6 +24,7 @@ import com.inrupt.client.Headers;
 import com.inrupt.client.Response.ResponseInfo;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.ByteBuffer;
@@ -40,7 +41,9 @@ class OkHttpResponseInfo implements ResponseInfo {
 
     @Override
     public Headers headers() {
-        return Headers.of(response.headers().toMultimap());
+        // okhttp3.Headers is immutable and case-insensitive, so it can back the headers without a copy
+        final okhttp3.Headers headers = response.headers();
+        return Headers.of(headers.names(), headers::values);
     }
 
     @Override
@@ -61,4 +64,9 @@ class OkHttpResponseInfo implements ResponseInfo {
             throw new UncheckedIOException("Unable to handle response data", ex);
         }
     }
+
+    @Override
+    public InputStream bodyAsStream() {
+        return response.body().byteStream();
+    }
 }
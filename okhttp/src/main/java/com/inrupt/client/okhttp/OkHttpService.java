@@ -43,6 +43,7 @@ import okhttp3.Headers;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.RequestBody;
+import okio.BufferedSink;
 
 /**
  * A {@link HttpService} using the {@code okhttp3.OkHttpClient}.
@@ -125,8 +126,11 @@ public class OkHttpService implements HttpService {
         if (NO_BODY_METHODS.contains(request.method())) {
             return null;
         }
-        return RequestBody.Companion.create(request.bodyPublisher()
-                .orElseGet(Request.BodyPublishers::noBody).getBytes().array(), mediaType);
+        final Request.BodyPublisher publisher = request.bodyPublisher().orElseGet(Request.BodyPublishers::noBody);
+        if (publisher.contentLength() < 0) {
+            return new StreamingRequestBody(publisher, mediaType);
+        }
+        return RequestBody.Companion.create(publisher.getBytes().array(), mediaType);
     }
 
     static okhttp3.Request prepareRequest(final Request request) {
@@ -158,4 +162,26 @@ public class OkHttpService implements HttpService {
         return MediaType.parse("application/octet-stream");
     }
 
+    /**
+     * A request body that is written directly to the connection, using chunked transfer encoding.
+     */
+    static final class StreamingRequestBody extends RequestBody {
+        private final Request.BodyPublisher publisher;
+        private final MediaType mediaType;
+
+        StreamingRequestBody(final Request.BodyPublisher publisher, final MediaType mediaType) {
+            this.publisher = publisher;
+            this.mediaType = mediaType;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return mediaType;
+        }
+
+        @Override
+        public void writeTo(final BufferedSink sink) throws IOException {
+            publisher.writeTo(sink.outputStream());
+        }
+    }
 }
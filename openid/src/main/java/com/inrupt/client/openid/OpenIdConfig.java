@@ -20,6 +20,8 @@
  */
 package com.inrupt.client.openid;
 
+import com.inrupt.client.auth.DPoP;
+
 import java.net.URI;
 import java.security.KeyPair;
 import java.util.ArrayList;
@@ -40,6 +42,7 @@ public class OpenIdConfig {
     private URI publicKeyLocation; /* default: null */
     private String audience; /* default: null */
     private Map<String, KeyPair> keypairs = new HashMap<>();
+    private DPoP proofSigner; /* default: null */
     private List<String> scopes = new ArrayList<>(Arrays.asList("openid", "webid"));
 
     /**
@@ -131,6 +134,26 @@ public class OpenIdConfig {
         return keypairs;
     }
 
+    /**
+     * Set a Proofing (DPoP) implementation, such as one that signs proofs asynchronously.
+     *
+     * <p>When set, this takes precedence over any configured Proofing (DPoP) keypairs.
+     *
+     * @param proofSigner the DPoP implementation
+     */
+    public void setProofSigner(final DPoP proofSigner) {
+        this.proofSigner = proofSigner;
+    }
+
+    /**
+     * Get the Proofing (DPoP) implementation.
+     *
+     * @return the DPoP implementation, default is {@code null}
+     */
+    public DPoP getProofSigner() {
+        return proofSigner;
+    }
+
     /**
      * Set any OAuth 2.0 scope values.
      *
@@ -24,6 +24,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.inrupt.client.*;
 import com.inrupt.client.auth.DPoP;
+import com.inrupt.client.auth.DPoPNonceCache;
 import com.inrupt.client.spi.HttpService;
 import com.inrupt.client.spi.JsonService;
 import com.inrupt.client.spi.ServiceProvider;
@@ -74,6 +75,7 @@ public class OpenIdProvider {
     private final JsonService jsonService;
     private final ClientCache<URI, Metadata> metadataCache;
     private final DPoP dpop;
+    private final DPoPNonceCache nonces = new DPoPNonceCache();
 
     /**
      * Create an OpenID Provider client.
@@ -191,16 +193,27 @@ public class OpenIdProvider {
      * @return the next stage of completion, containing the token response
      */
     public CompletionStage<TokenResponse> token(final TokenRequest request) {
-        return metadata()
-            .thenApply(metadata -> tokenRequest(metadata, request))
-            .thenCompose(req -> httpClient.send(req, Response.BodyHandlers.ofInputStream()))
-            .thenApply(res -> {
+        return metadata().thenCompose(metadata -> token(metadata, request, true));
+    }
+
+    private CompletionStage<TokenResponse> token(final Metadata metadata, final TokenRequest request,
+            final boolean retry) {
+        final URI tokenEndpoint = metadata.tokenEndpoint;
+        final Request req = tokenRequest(metadata, request, nonces.get(tokenEndpoint).orElse(null));
+        return httpClient.send(req, Response.BodyHandlers.ofInputStream())
+            .thenCompose(res -> {
+                nonces.update(tokenEndpoint, res.headers());
                 try (final InputStream input = res.body()) {
                     final int httpStatus = res.statusCode();
                     if (httpStatus >= 200 && httpStatus < 300) {
-                        return jsonService.fromJson(input, TokenResponse.class);
+                        return CompletableFuture.completedFuture(jsonService.fromJson(input, TokenResponse.class));
                     }
                     final ErrorResponse error = tryParseError(input);
+                    if (retry && DPoPNonceCache.USE_DPOP_NONCE.equals(error.error)
+                            && nonces.get(tokenEndpoint).isPresent()) {
+                        // Retry once, with a proof that includes the server-provided nonce
+                        return token(metadata, request, false);
+                    }
                     throw new OpenIdException(
                         error.error + " error while interacting with the OpenID Provider's token endpoint" +
                         (error.errorDescription != null ? ": '" + error.errorDescription + "'." : "."),
@@ -229,7 +242,7 @@ public class OpenIdProvider {
         }
     }
 
-    private Request tokenRequest(final Metadata metadata, final TokenRequest request) {
+    private Request tokenRequest(final Metadata metadata, final TokenRequest request, final String nonce) {
         // RFC 9207 describes this behavior as a SHOULD but recognizes use cases that vary;
         // this would be good to consider when adding broader configuration support to the libraries.
         if (metadata.authorizationResponseIssParameterSupported) {
@@ -281,7 +294,7 @@ public class OpenIdProvider {
 
         // Add dpop header, if relevant
         getDpopAlg(metadata.dpopSigningAlgValuesSupported, dpop.algorithms()).ifPresent(alg ->
-                req.header("DPoP", dpop.generateProof(alg, metadata.tokenEndpoint, "POST")));
+                req.header("DPoP", dpop.generateProof(alg, metadata.tokenEndpoint, "POST", nonce)));
 
         return req.build();
     }
@@ -114,7 +114,7 @@ public final class OpenIdSession implements Session {
      * @return the session
      */
     public static Session ofIdToken(final String idToken, final OpenIdConfig config) {
-        final DPoP dpop = DPoP.of(config.getProofKeyPairs());
+        final DPoP dpop = getProofSigner(config);
         final JwtClaims claims = parseIdToken(idToken, config);
         final String id = getSessionIdentifier(claims);
         final String jkt = getProofThumbprint(claims);
@@ -166,7 +166,7 @@ public final class OpenIdSession implements Session {
             final String clientId, final String clientSecret, final String authMethod,
             final OpenIdConfig config) {
         final String id = UUID.randomUUID().toString();
-        final DPoP dpop = DPoP.of(config.getProofKeyPairs());
+        final DPoP dpop = getProofSigner(config);
         return new OpenIdSession(id, dpop, () -> provider.metadata()
             .thenCompose(metadata -> provider.token(TokenRequest.newBuilder()
                 .clientSecret(clientSecret)
@@ -223,6 +223,20 @@ public final class OpenIdSession implements Session {
         return dpop.lookupAlgorithm(jkt).map(alg -> dpop.generateProof(alg, request.uri(), request.method()));
     }
 
+    @Override
+    public CompletionStage<Optional<String>> generateProofAsync(final String jkt, final Request request) {
+        return generateProofAsync(jkt, request, null);
+    }
+
+    @Override
+    public CompletionStage<Optional<String>> generateProofAsync(final String jkt, final Request request,
+            final String nonce) {
+        return dpop.lookupAlgorithm(jkt)
+            .map(alg -> dpop.generateProofAsync(alg, request.uri(), request.method(), nonce)
+                    .thenApply(Optional::of))
+            .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()));
+    }
+
     @Override
     public Optional<Credential> fromCache(final Request request) {
         if (request != null) {
@@ -290,6 +304,13 @@ public final class OpenIdSession implements Session {
         }
     }
 
+    static DPoP getProofSigner(final OpenIdConfig config) {
+        if (config.getProofSigner() != null) {
+            return config.getProofSigner();
+        }
+        return DPoP.of(config.getProofKeyPairs());
+    }
+
     static String sha256(final String value) {
         final MessageDigest md = DigestUtils.getDigest("SHA-256");
         return String.valueOf(Hex.encodeHex(md.digest(value.getBytes(UTF_8))));
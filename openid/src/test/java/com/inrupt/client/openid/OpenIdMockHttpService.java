@@ -25,6 +25,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -93,6 +94,31 @@ class OpenIdMockHttpService {
                         .withHeader("Content-Type", "application/json")
                         .withBodyFile("token-error.json")));
 
+        wireMockServer.stubFor(post(urlPathMatching("/token"))
+                .withHeader("Content-Type", containing("application/x-www-form-urlencoded"))
+                    .atPriority(1)
+                    .inScenario("dpop-nonce")
+                    .whenScenarioStateIs(Scenario.STARTED)
+                    .withRequestBody(containing("code=requires-nonce"))
+                    .willReturn(aResponse()
+                        .withStatus(400)
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("DPoP-Nonce", "nonce-12345")
+                        .withBody("{\"error\": \"use_dpop_nonce\"}"))
+                    .willSetStateTo("nonce-issued"));
+
+        wireMockServer.stubFor(post(urlPathMatching("/token"))
+                .withHeader("Content-Type", containing("application/x-www-form-urlencoded"))
+                    .atPriority(1)
+                    .inScenario("dpop-nonce")
+                    .whenScenarioStateIs("nonce-issued")
+                    .withRequestBody(containing("code=requires-nonce"))
+                    .withHeader("DPoP", matching(".+"))
+                    .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(getTokenResponseJSON())));
+
         wireMockServer.stubFor(post(urlPathMatching("/token"))
                 .withHeader("Content-Type", containing("application/x-www-form-urlencoded"))
                     .atPriority(2)
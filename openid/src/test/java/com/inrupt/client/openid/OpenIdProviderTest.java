@@ -191,6 +191,23 @@ class OpenIdProviderTest {
         assertEquals("Bearer", token.tokenType);
     }
 
+    @Test
+    void tokenDpopNonceRetry() {
+        final TokenRequest tokenReq = TokenRequest.newBuilder()
+            .code("requires-nonce")
+            .codeVerifier("nonceCodeverifier")
+            .issuer(issuer)
+            .redirectUri(URI.create("https://example.test/redirectUri"))
+            .build(
+                "authorization_code",
+                "myClientId"
+            );
+        final TokenResponse token = openIdProvider.token(tokenReq)
+            .toCompletableFuture().join();
+        assertEquals("123456", token.accessToken);
+        assertNotNull(token.idToken);
+    }
+
     @Test
     void tokenNoClientSecretTest() {
         final TokenRequest tokenReq = TokenRequest.newBuilder()
@@ -20,6 +20,7 @@
  */
 package com.inrupt.client.rdf.legacy;
 
+import com.inrupt.client.spi.QuadSink;
 import com.inrupt.client.spi.RdfService;
 import com.inrupt.commons.rdf4j.RDF4J;
 
@@ -41,8 +42,10 @@ import org.eclipse.rdf4j.repository.Repository;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.repository.sail.SailRepository;
 import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFParser;
 import org.eclipse.rdf4j.rio.RDFWriter;
 import org.eclipse.rdf4j.rio.Rio;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
 import org.eclipse.rdf4j.sail.memory.MemoryStore;
 
 /**
@@ -110,6 +113,25 @@ public class RDFLegacyService implements RdfService {
         }
     }
 
+    @Override
+    public void parse(final RDFSyntax syntax, final InputStream input, final String baseUri, final QuadSink sink)
+            throws IOException {
+        final RDFFormat format = Objects.requireNonNull(SYNTAX_TO_FORMAT.get(syntax));
+        final RDFParser parser = Rio.createParser(format);
+        parser.setRDFHandler(new AbstractRDFHandler() {
+            @Override
+            public void handleStatement(final Statement statement) {
+                sink.accept(rdf.asQuad(statement));
+            }
+        });
+
+        try {
+            parser.parse(input, baseUri);
+        } catch (final org.eclipse.rdf4j.RDF4JException ex) {
+            throw new IOException("Error parsing input", ex);
+        }
+    }
+
     static Map<RDFSyntax, RDFFormat> buildSyntaxMapping() {
         final Map<RDFSyntax, RDFFormat> mapping = new HashMap<>();
         mapping.put(RDFSyntax.TURTLE, RDFFormat.TURTLE);
@@ -0,0 +1,154 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.rdf4j;
+
+import com.inrupt.commons.rdf4j.RDF4J;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Value;
+
+/**
+ * A Commons RDF {@link Dataset} backed directly by an in-memory RDF4J {@link Model}.
+ *
+ * <p>Unlike a repository-backed dataset, this requires no sail, connection or locking, which makes it
+ * a better fit for the short-lived result of parsing a single document. It is, however, not safe for concurrent
+ * modification.
+ *
+ * <p>As with a repository-backed dataset, {@link #getGraph(BlankNodeOrIRI)} returns a view of the named graph
+ * even if the dataset does not yet contain any statements in that graph.
+ */
+final class ModelDataset implements Dataset {
+
+    private static final Resource[] ANY_CONTEXT = new Resource[0];
+    private static final Resource[] DEFAULT_CONTEXT = new Resource[] {null};
+
+    private final RDF4J rdf;
+    private final Model model;
+
+    ModelDataset(final RDF4J rdf, final Model model) {
+        this.rdf = Objects.requireNonNull(rdf, "RDF factory may not be null!");
+        this.model = Objects.requireNonNull(model, "Model may not be null!");
+    }
+
+    @Override
+    public void add(final Quad quad) {
+        model.add(rdf.asStatement(quad));
+    }
+
+    @Override
+    public void add(final BlankNodeOrIRI graphName, final BlankNodeOrIRI subject, final IRI predicate,
+            final RDFTerm object) {
+        model.add(asResource(subject), asIRI(predicate), rdf.asValue(object), contexts(Optional.ofNullable(graphName)));
+    }
+
+    @Override
+    public boolean contains(final Quad quad) {
+        return contains(quad.getGraphName(), quad.getSubject(), quad.getPredicate(), quad.getObject());
+    }
+
+    @Override
+    public boolean contains(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) {
+        return model.contains(asResource(subject), asIRI(predicate), asValue(object), contexts(graphName));
+    }
+
+    @Override
+    public Graph getGraph() {
+        return rdf.asGraph(model.filter(null, null, null, DEFAULT_CONTEXT));
+    }
+
+    @Override
+    public Optional<Graph> getGraph(final BlankNodeOrIRI graphName) {
+        return Optional.of(rdf.asGraph(model.filter(null, null, null, asResource(graphName))));
+    }
+
+    @Override
+    public Stream<BlankNodeOrIRI> getGraphNames() {
+        return model.contexts().stream().filter(Objects::nonNull).<BlankNodeOrIRI>map(rdf::asRDFTerm);
+    }
+
+    @Override
+    public void remove(final Quad quad) {
+        remove(quad.getGraphName(), quad.getSubject(), quad.getPredicate(), quad.getObject());
+    }
+
+    @Override
+    public void remove(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) {
+        model.remove(asResource(subject), asIRI(predicate), asValue(object), contexts(graphName));
+    }
+
+    @Override
+    public void clear() {
+        model.clear();
+    }
+
+    @Override
+    public long size() {
+        return model.size();
+    }
+
+    @Override
+    public Stream<? extends Quad> stream() {
+        return model.stream().map(rdf::asQuad);
+    }
+
+    @Override
+    public Stream<? extends Quad> stream(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) {
+        return model.filter(asResource(subject), asIRI(predicate), asValue(object), contexts(graphName)).stream()
+            .map(rdf::asQuad);
+    }
+
+    // A null graph name matches any graph, while an empty graph name matches the default graph
+    Resource[] contexts(final Optional<BlankNodeOrIRI> graphName) {
+        if (graphName == null) {
+            return ANY_CONTEXT;
+        }
+        return graphName.map(name -> new Resource[] {asResource(name)}).orElse(DEFAULT_CONTEXT);
+    }
+
+    Resource asResource(final BlankNodeOrIRI term) {
+        return (Resource) asValue(term);
+    }
+
+    org.eclipse.rdf4j.model.IRI asIRI(final IRI term) {
+        return (org.eclipse.rdf4j.model.IRI) asValue(term);
+    }
+
+    Value asValue(final RDFTerm term) {
+        if (term == null) {
+            return null;
+        }
+        return rdf.asValue(term);
+    }
+}
@@ -20,39 +20,82 @@
  */
 package com.inrupt.client.rdf4j;
 
+import com.inrupt.client.spi.BinaryRDFSyntax;
+import com.inrupt.client.spi.QuadSink;
 import com.inrupt.client.spi.RdfService;
+import com.inrupt.client.util.ParallelLineParser;
 import com.inrupt.commons.rdf4j.RDF4J;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
 import java.util.stream.Stream;
 
 import org.apache.commons.rdf.api.Dataset;
 import org.apache.commons.rdf.api.Graph;
 import org.apache.commons.rdf.api.RDFSyntax;
 import org.eclipse.rdf4j.common.exception.RDF4JException;
+import org.eclipse.rdf4j.model.BNode;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.repository.Repository;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.repository.sail.SailRepository;
 import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.RDFParser;
 import org.eclipse.rdf4j.rio.RDFWriter;
 import org.eclipse.rdf4j.rio.Rio;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
+import org.eclipse.rdf4j.rio.helpers.BasicParserSettings;
+import org.eclipse.rdf4j.rio.helpers.StatementCollector;
 import org.eclipse.rdf4j.sail.memory.MemoryStore;
 
 /**
  * An {@link RdfService} that uses the RDF4J library.
+ *
+ * <p>By default, parsed datasets are held in an in-memory {@link Model}, which avoids initializing a sail and a
+ * repository for each parsed document. Unlike the repository-backed datasets used by earlier versions, these
+ * datasets are <em>not</em> safe for concurrent modification: a dataset that is shared between threads must be
+ * guarded by the application. The repository-backed store can be restored by setting the
+ * {@value #DATASET_PROPERTY} system property to {@code repository}.
  */
 public class RDF4JService implements RdfService {
 
+    /**
+     * The system property that selects the dataset store used by {@link #toDataset}.
+     *
+     * <p>Supported values are {@code model}, the default, and {@code repository}.
+     */
+    public static final String DATASET_PROPERTY = "com.inrupt.client.rdf4j.dataset";
+
     private static final Map<RDFSyntax, RDFFormat> SYNTAX_TO_FORMAT = buildSyntaxMapping();
+    private static final List<RDFSyntax> BINARY_SYNTAXES = Collections.singletonList(BinaryRDFSyntax.RDF4J_BINARY);
     private static final RDF4J rdf = new RDF4J();
+    private static final ParallelLineParser LINE_PARSER = ParallelLineParser.ofDefaultExecutor();
+
+    private final boolean repositoryDataset;
+
+    /**
+     * Create an RDF4J-based RDF service with the dataset store selected by the {@value #DATASET_PROPERTY}
+     * system property.
+     */
+    public RDF4JService() {
+        this.repositoryDataset = isRepositoryDataset(System.getProperty(DATASET_PROPERTY));
+    }
 
     @Override
     public void fromDataset(final Dataset dataset, final RDFSyntax syntax, final OutputStream output)
@@ -88,12 +131,17 @@ public class RDF4JService implements RdfService {
     @Override
     public Dataset toDataset(final RDFSyntax syntax, final InputStream input, final String baseUri) throws IOException {
         final RDFFormat format = Objects.requireNonNull(SYNTAX_TO_FORMAT.get(syntax));
-        final Repository repository = new SailRepository(new MemoryStore());
         try {
-            try (final RepositoryConnection conn = repository.getConnection()) {
-                conn.add(input, baseUri, format);
+            final Model model = new LinkedHashModel();
+            read(format, input, baseUri, new StatementCollector(model));
+            if (repositoryDataset) {
+                final Repository repository = new SailRepository(new MemoryStore());
+                try (final RepositoryConnection conn = repository.getConnection()) {
+                    conn.add(model);
+                }
+                return rdf.asDataset(repository);
             }
-            return rdf.asDataset(repository);
+            return new ModelDataset(rdf, model);
         } catch (final RDF4JException ex) {
             throw new IOException("Error parsing dataset", ex);
         }
@@ -104,13 +152,86 @@ public class RDF4JService implements RdfService {
         final RDFFormat format = Objects.requireNonNull(SYNTAX_TO_FORMAT.get(syntax));
 
         try {
-            final Model model = Rio.parse(input, baseUri, format);
+            final Model model = new LinkedHashModel();
+            read(format, input, baseUri, new StatementCollector(model));
             return rdf.asGraph(model);
         } catch (final RDF4JException ex) {
             throw new IOException("Error parsing graph", ex);
         }
     }
 
+    @Override
+    public List<RDFSyntax> getBinarySyntaxes() {
+        return BINARY_SYNTAXES;
+    }
+
+    @Override
+    public void parse(final RDFSyntax syntax, final InputStream input, final String baseUri, final QuadSink sink)
+            throws IOException {
+        final RDFFormat format = Objects.requireNonNull(SYNTAX_TO_FORMAT.get(syntax));
+        try {
+            read(format, input, baseUri, new AbstractRDFHandler() {
+                @Override
+                public void handleStatement(final Statement statement) {
+                    sink.accept(rdf.asQuad(statement));
+                }
+            });
+        } catch (final RDF4JException ex) {
+            throw new IOException("Error parsing input", ex);
+        }
+    }
+
+    /**
+     * Parse an input stream into an RDF handler.
+     *
+     * <p>Large documents in a line-based syntax are split into chunks and parsed in parallel; smaller documents are
+     * streamed through the sequential parser. All chunks share a single blank node scope, so a blank node label
+     * denotes the same node throughout the document.
+     */
+    static void read(final RDFFormat format, final InputStream input, final String baseUri,
+            final RDFHandler handler) throws IOException {
+        if (!RDFFormat.NTRIPLES.equals(format) && !RDFFormat.NQUADS.equals(format)) {
+            final RDFParser parser = Rio.createParser(format);
+            parser.setRDFHandler(handler);
+            parser.parse(input, baseUri);
+            return;
+        }
+
+        final InputStream buffered = input.markSupported() ? input : new BufferedInputStream(input);
+        if (!LINE_PARSER.exceedsThreshold(buffered)) {
+            final RDFParser parser = Rio.createParser(format);
+            parser.setRDFHandler(handler);
+            parser.parse(buffered, baseUri);
+            return;
+        }
+
+        final ValueFactory valueFactory = new ScopedValueFactory();
+        handler.startRDF();
+        LINE_PARSER.parse(buffered, chunk -> {
+            final List<Statement> statements = new ArrayList<>();
+            final RDFParser parser = Rio.createParser(format, valueFactory);
+            parser.getParserConfig().set(BasicParserSettings.PRESERVE_BNODE_IDS, true);
+            parser.setRDFHandler(new StatementCollector(statements));
+            try {
+                parser.parse(new ByteArrayInputStream(chunk), baseUri);
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("Error reading chunk", ex);
+            }
+            return statements;
+        }, statements -> statements.forEach(handler::handleStatement));
+        handler.endRDF();
+    }
+
+    static boolean isRepositoryDataset(final String store) {
+        if (store == null || "model".equalsIgnoreCase(store)) {
+            return false;
+        }
+        if ("repository".equalsIgnoreCase(store)) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unsupported value for " + DATASET_PROPERTY + ": " + store);
+    }
+
     static Map<RDFSyntax, RDFFormat> buildSyntaxMapping() {
         final Map<RDFSyntax, RDFFormat> mapping = new HashMap<>();
         mapping.put(RDFSyntax.TURTLE, RDFFormat.TURTLE);
@@ -118,6 +239,19 @@ public class RDF4JService implements RdfService {
         mapping.put(RDFSyntax.JSONLD, RDFFormat.JSONLD);
         mapping.put(RDFSyntax.NTRIPLES, RDFFormat.NTRIPLES);
         mapping.put(RDFSyntax.NQUADS, RDFFormat.NQUADS);
+        mapping.put(BinaryRDFSyntax.RDF4J_BINARY, RDFFormat.BINARY);
         return Collections.unmodifiableMap(mapping);
     }
+
+    /**
+     * A value factory that scopes blank node identifiers to a single parse.
+     */
+    static final class ScopedValueFactory extends SimpleValueFactory {
+        private final String prefix = "b" + UUID.randomUUID().toString().replace("-", "") + "-";
+
+        @Override
+        public BNode createBNode(final String nodeID) {
+            return super.createBNode(prefix + nodeID);
+        }
+    }
 }
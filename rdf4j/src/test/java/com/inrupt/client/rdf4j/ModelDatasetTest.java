@@ -0,0 +1,102 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.rdf4j;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.inrupt.client.test.RdfTestModel;
+import com.inrupt.commons.rdf4j.RDF4J;
+
+import java.util.Optional;
+
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ModelDatasetTest {
+
+    private static final RDF4J rdf = new RDF4J();
+
+    private Dataset dataset;
+
+    @BeforeEach
+    void setup() {
+        final LinkedHashModel model = new LinkedHashModel();
+        model.add(RDF4JTestModel.S_RDF4J, RDF4JTestModel.P_RDF4J, RDF4JTestModel.O_RDF4J, RDF4JTestModel.G_RDF4J);
+        model.add(RDF4JTestModel.S1_RDF4J, RDF4JTestModel.P1_RDF4J, RDF4JTestModel.O1_RDF4J);
+        dataset = new ModelDataset(rdf, model);
+    }
+
+    @Test
+    void testContains() {
+        assertEquals(2, dataset.size());
+        assertTrue(dataset.contains(null, RdfTestModel.S_RDFNode, null, null));
+        assertTrue(dataset.contains(Optional.of(RdfTestModel.G_RDFNode), RdfTestModel.S_RDFNode, null, null));
+        assertFalse(dataset.contains(Optional.empty(), RdfTestModel.S_RDFNode, null, null));
+        assertTrue(dataset.contains(Optional.empty(), RdfTestModel.S1_RDFNode, RdfTestModel.P1_RDFNode,
+                    RdfTestModel.O1_RDFNode));
+        assertTrue(dataset.contains(rdf.createQuad(RdfTestModel.G_RDFNode, RdfTestModel.S_RDFNode,
+                        RdfTestModel.P_RDFNode, RdfTestModel.O_RDFNode)));
+    }
+
+    @Test
+    void testStream() {
+        assertEquals(2, dataset.stream().count());
+        assertEquals(1, dataset.stream(Optional.empty(), null, null, null).count());
+        assertEquals(1, dataset.stream(Optional.of(RdfTestModel.G_RDFNode), null, null, null).count());
+        assertEquals(0, dataset.stream(null, RdfTestModel.S2_RDFNode, null, null).count());
+        assertTrue(dataset.stream(Optional.of(RdfTestModel.G_RDFNode), null, null, null)
+                .allMatch(quad -> quad.getGraphName().filter(RdfTestModel.G_RDFNode::equals).isPresent()));
+    }
+
+    @Test
+    void testGraphs() {
+        final Graph graph = dataset.getGraph();
+        assertEquals(1, graph.size());
+        assertTrue(graph.contains(RdfTestModel.S1_RDFNode, null, null));
+
+        assertEquals(1, dataset.getGraph(RdfTestModel.G_RDFNode).map(Graph::size).orElse(0L));
+        assertEquals(Optional.of(0L), dataset.getGraph(RdfTestModel.S2_RDFNode).map(Graph::size));
+        assertEquals(1, dataset.getGraphNames().count());
+        assertTrue(dataset.getGraphNames().anyMatch(RdfTestModel.G_RDFNode::equals));
+    }
+
+    @Test
+    void testAddAndRemove() {
+        dataset.add(null, RdfTestModel.S2_RDFNode, RdfTestModel.P2_RDFNode, RdfTestModel.O2_RDFNode);
+        dataset.add(rdf.createQuad(RdfTestModel.G_RDFNode, RdfTestModel.S2_RDFNode, RdfTestModel.P2_RDFNode,
+                    RdfTestModel.O2_RDFNode));
+        assertEquals(4, dataset.size());
+        assertTrue(dataset.contains(Optional.empty(), RdfTestModel.S2_RDFNode, null, null));
+
+        dataset.remove(Optional.empty(), RdfTestModel.S2_RDFNode, null, null);
+        assertEquals(3, dataset.size());
+        assertTrue(dataset.contains(Optional.of(RdfTestModel.G_RDFNode), RdfTestModel.S2_RDFNode, null, null));
+
+        dataset.remove(null, RdfTestModel.S2_RDFNode, null, null);
+        assertEquals(2, dataset.size());
+
+        dataset.clear();
+        assertEquals(0, dataset.size());
+    }
+}
@@ -104,6 +104,13 @@ class RDF4JServiceTest extends RdfServices {
         assertTrue(service instanceof RDF4JService);
     }
 
+    @Test
+    void configuredDatasetStore() {
+        assertFalse(RDF4JService.isRepositoryDataset(null));
+        assertTrue(RDF4JService.isRepositoryDataset("repository"));
+        assertThrows(IllegalArgumentException.class, () -> RDF4JService.isRepositoryDataset("unknown"));
+    }
+
     @Test
     void parseToDatasetRelativeURIsButNoBaseURI() throws IOException {
         try (final InputStream input = RdfServices.class.getResourceAsStream("/relativeURIs.ttl")) {
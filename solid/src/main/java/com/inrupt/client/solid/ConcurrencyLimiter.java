@@ -0,0 +1,114 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.solid;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A non-blocking limiter for asynchronous operations.
+ *
+ * <p>At most {@code maxConcurrency} submitted operations are in flight at any time. Additional
+ * operations are queued and started, in submission order, as earlier operations complete.
+ * No thread is ever blocked while waiting for a permit.
+ */
+final class ConcurrencyLimiter {
+
+    private final int maxConcurrency;
+    private final AtomicInteger active = new AtomicInteger();
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger draining = new AtomicInteger();
+
+    /**
+     * Create a new concurrency limiter.
+     *
+     * @param maxConcurrency the maximum number of concurrent operations, must be positive
+     */
+    ConcurrencyLimiter(final int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Concurrency limit must be a positive number");
+        }
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Submit an asynchronous operation.
+     *
+     * @param operation the operation, which is not invoked until a permit is available
+     * @param <T> the result type
+     * @return the next stage of completion, including the result of the operation
+     */
+    <T> CompletionStage<T> submit(final Supplier<? extends CompletionStage<T>> operation) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        pending.add(() -> run(operation, result));
+        drain();
+        return result;
+    }
+
+    private <T> void run(final Supplier<? extends CompletionStage<T>> operation, final CompletableFuture<T> result) {
+        final CompletionStage<T> stage;
+        try {
+            stage = operation.get();
+        } catch (final RuntimeException ex) {
+            release();
+            result.completeExceptionally(ex);
+            return;
+        }
+        stage.whenComplete((value, err) -> {
+            release();
+            if (err != null) {
+                result.completeExceptionally(err);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private void release() {
+        active.decrementAndGet();
+        drain();
+    }
+
+    private void drain() {
+        // Only one thread drains at a time. Re-entrant or concurrent calls are counted, and the draining
+        // thread loops again instead of recursing, so synchronously completed operations cannot overflow the stack.
+        if (draining.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            // Permits are only acquired here, so checking and then incrementing the active count is safe
+            while (active.get() < maxConcurrency) {
+                final Runnable task = pending.poll();
+                if (task == null) {
+                    break;
+                }
+                active.incrementAndGet();
+                task.run();
+            }
+            missed = draining.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
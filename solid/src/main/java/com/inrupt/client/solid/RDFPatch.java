@@ -0,0 +1,159 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.solid;
+
+import com.inrupt.client.RDFSource;
+import com.inrupt.client.Request;
+import com.inrupt.client.Resource;
+import com.inrupt.client.vocabulary.RDF;
+import com.inrupt.client.vocabulary.Solid;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.Quad;
+
+/**
+ * A minimal PATCH request body describing the changes made to an RDF resource.
+ *
+ * <p>N3 Patch is preferred, as it is required by the Solid Protocol. SPARQL Update is used when it is the only
+ * patch syntax advertised by the server.
+ */
+final class RDFPatch {
+
+    static final String N3 = "text/n3";
+    static final String SPARQL_UPDATE = "application/sparql-update";
+
+    private final String contentType;
+    private final String body;
+    private final RDFSource.Changes changes;
+
+    private RDFPatch(final String contentType, final String body, final RDFSource.Changes changes) {
+        this.contentType = contentType;
+        this.body = body;
+        this.changes = changes;
+    }
+
+    String getContentType() {
+        return contentType;
+    }
+
+    Request.BodyPublisher getEntity() {
+        return Request.BodyPublishers.ofString(body);
+    }
+
+    String getBody() {
+        return body;
+    }
+
+    RDFSource.Changes getChanges() {
+        return changes;
+    }
+
+    /**
+     * Build a patch for a resource, if the resource and server support it.
+     *
+     * <p>No patch is produced if the resource does not track changes, there are no changes, the resource has been
+     * cleared, the server does not advertise a supported patch syntax, or the changes cannot be expressed safely.
+     * Changes that involve blank nodes or named graphs fall into the last category, since neither patch syntax can
+     * reliably identify an existing blank node on the server.
+     *
+     * @param resource the resource
+     * @return the patch, if one can be used in place of a full replacement
+     */
+    static Optional<RDFPatch> of(final Resource resource) {
+        if (!(resource instanceof RDFSource) || !(resource instanceof SolidResource)) {
+            return Optional.empty();
+        }
+
+        // Take a single snapshot, so that the patch and the changes reset after a successful write agree
+        final RDFSource.Changes changes = ((RDFSource) resource).getChanges();
+        final Set<Quad> additions = changes.getAdditions();
+        final Set<Quad> removals = changes.getRemovals();
+        if (changes.isEmpty() || changes.isCleared() || !isPatchable(additions) || !isPatchable(removals)) {
+            return Optional.empty();
+        }
+
+        final Set<String> syntaxes = ((SolidResource) resource).getMetadata().getAllowedPatchSyntaxes();
+        if (supports(syntaxes, N3)) {
+            return Optional.of(new RDFPatch(N3, n3Patch(additions, removals), changes));
+        } else if (supports(syntaxes, SPARQL_UPDATE)) {
+            return Optional.of(new RDFPatch(SPARQL_UPDATE, sparqlUpdate(additions, removals), changes));
+        }
+        return Optional.empty();
+    }
+
+    static String n3Patch(final Collection<Quad> additions, final Collection<Quad> removals) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("_:patch <").append(RDF.type).append("> <").append(Solid.InsertDeletePatch).append(">");
+        if (!removals.isEmpty()) {
+            builder.append(";\n  <").append(Solid.deletes).append("> {\n");
+            appendTriples(builder, removals);
+            builder.append("  }");
+        }
+        if (!additions.isEmpty()) {
+            builder.append(";\n  <").append(Solid.inserts).append("> {\n");
+            appendTriples(builder, additions);
+            builder.append("  }");
+        }
+        return builder.append(" .\n").toString();
+    }
+
+    static String sparqlUpdate(final Collection<Quad> additions, final Collection<Quad> removals) {
+        final StringBuilder builder = new StringBuilder();
+        if (!removals.isEmpty()) {
+            builder.append("DELETE DATA {\n");
+            appendTriples(builder, removals);
+            builder.append("}");
+        }
+        if (!additions.isEmpty()) {
+            if (!removals.isEmpty()) {
+                builder.append(";\n");
+            }
+            builder.append("INSERT DATA {\n");
+            appendTriples(builder, additions);
+            builder.append("}");
+        }
+        return builder.append("\n").toString();
+    }
+
+    static void appendTriples(final StringBuilder builder, final Collection<Quad> quads) {
+        for (final Quad quad : quads) {
+            builder.append("    ").append(quad.getSubject().ntriplesString())
+                .append(" ").append(quad.getPredicate().ntriplesString())
+                .append(" ").append(quad.getObject().ntriplesString()).append(" .\n");
+        }
+    }
+
+    static boolean isPatchable(final Collection<Quad> quads) {
+        return quads.stream().noneMatch(quad -> quad.getGraphName().isPresent() ||
+                Stream.of(quad.getSubject(), quad.getObject()).anyMatch(BlankNode.class::isInstance));
+    }
+
+    static boolean supports(final Set<String> syntaxes, final String mediaType) {
+        return syntaxes.stream().map(syntax -> syntax.split(";")[0].trim().toLowerCase(Locale.ROOT))
+            .anyMatch(mediaType::equals);
+    }
+}
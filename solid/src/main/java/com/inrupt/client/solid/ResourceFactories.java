@@ -0,0 +1,231 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.solid;
+
+import com.inrupt.client.Headers;
+import com.inrupt.client.Resource;
+
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.rdf.api.Dataset;
+
+/**
+ * A registry of factories used to construct resource types when reading Solid resources.
+ *
+ * <p>By default, resource types are constructed via a public constructor. For RDF-bearing resources, the
+ * {@code (URI, Dataset, Headers)} signature is preferred over {@code (URI, Dataset)}; for non-RDF resources,
+ * {@code (URI, String, InputStream, Headers)} is preferred over {@code (URI, String, InputStream)}. The applicable
+ * constructor is resolved once per class and cached, so reading a resource does not involve any reflective lookup.
+ * Applications may also register an explicit factory for a resource type, which takes precedence over any
+ * constructor.
+ */
+public final class ResourceFactories {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final Map<Class<?>, RDFSourceFactory<?>> RDF_REGISTRY = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, NonRDFSourceFactory<?>> NON_RDF_REGISTRY = new ConcurrentHashMap<>();
+    private static final ClassValue<Resolved> FACTORIES = new ClassValue<Resolved>() {
+        @Override
+        protected Resolved computeValue(final Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    /**
+     * A factory for RDF-bearing resource types.
+     *
+     * @param <T> the resource type
+     */
+    @FunctionalInterface
+    public interface RDFSourceFactory<T extends Resource> {
+        /**
+         * Create a new resource.
+         *
+         * @param identifier the resource identifier
+         * @param dataset the resource dataset, may be {@code null}
+         * @param headers the response headers
+         * @return the new resource
+         * @throws ReflectiveOperationException if the resource could not be created
+         */
+        T create(URI identifier, Dataset dataset, Headers headers) throws ReflectiveOperationException;
+    }
+
+    /**
+     * A factory for non-RDF resource types.
+     *
+     * @param <T> the resource type
+     */
+    @FunctionalInterface
+    public interface NonRDFSourceFactory<T extends Resource> {
+        /**
+         * Create a new resource.
+         *
+         * @param identifier the resource identifier
+         * @param contentType the content type
+         * @param entity the resource entity
+         * @param headers the response headers
+         * @return the new resource
+         * @throws ReflectiveOperationException if the resource could not be created
+         */
+        T create(URI identifier, String contentType, InputStream entity, Headers headers)
+                throws ReflectiveOperationException;
+    }
+
+    /**
+     * Register a factory for an RDF-bearing resource type.
+     *
+     * @param clazz the resource type
+     * @param factory the factory
+     * @param <T> the resource type
+     */
+    public static <T extends Resource> void registerRDFSource(final Class<T> clazz,
+            final RDFSourceFactory<T> factory) {
+        RDF_REGISTRY.put(Objects.requireNonNull(clazz, "Class may not be null!"),
+                Objects.requireNonNull(factory, "Factory may not be null!"));
+        FACTORIES.remove(clazz);
+    }
+
+    /**
+     * Register a factory for a non-RDF resource type.
+     *
+     * @param clazz the resource type
+     * @param factory the factory
+     * @param <T> the resource type
+     */
+    public static <T extends Resource> void registerNonRDFSource(final Class<T> clazz,
+            final NonRDFSourceFactory<T> factory) {
+        NON_RDF_REGISTRY.put(Objects.requireNonNull(clazz, "Class may not be null!"),
+                Objects.requireNonNull(factory, "Factory may not be null!"));
+        FACTORIES.remove(clazz);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends Resource> RDFSourceFactory<T> rdfSource(final Class<T> clazz) throws NoSuchMethodException {
+        final RDFSourceFactory<?> factory = FACTORIES.get(clazz).rdfSource;
+        if (factory == null) {
+            throw new NoSuchMethodException("No suitable RDF source constructor for " + clazz.getName());
+        }
+        return (RDFSourceFactory<T>) factory;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends Resource> NonRDFSourceFactory<T> nonRDFSource(final Class<T> clazz)
+            throws NoSuchMethodException {
+        final NonRDFSourceFactory<?> factory = FACTORIES.get(clazz).nonRDFSource;
+        if (factory == null) {
+            throw new NoSuchMethodException("No suitable non-RDF source constructor for " + clazz.getName());
+        }
+        return (NonRDFSourceFactory<T>) factory;
+    }
+
+    static Resolved resolve(final Class<?> type) {
+        final Constructor<?>[] constructors = type.getConstructors();
+
+        RDFSourceFactory<?> rdfSource = RDF_REGISTRY.get(type);
+        if (rdfSource == null) {
+            // Prefer an arity-3 ctor with headers, then the deprecated metadata ctor, then an arity-2 ctor
+            final MethodHandle withHeaders = find(constructors, URI.class, Dataset.class, Headers.class);
+            final MethodHandle withMetadata = find(constructors, URI.class, Dataset.class, Metadata.class);
+            final MethodHandle basic = find(constructors, URI.class, Dataset.class);
+            if (withHeaders != null) {
+                rdfSource = (identifier, dataset, headers) ->
+                    invoke(withHeaders, identifier, dataset, headers);
+            } else if (withMetadata != null) {
+                rdfSource = (identifier, dataset, headers) ->
+                    invoke(withMetadata, identifier, dataset, Metadata.of(identifier, headers));
+            } else if (basic != null) {
+                rdfSource = (identifier, dataset, headers) -> invoke(basic, identifier, dataset);
+            }
+        }
+
+        NonRDFSourceFactory<?> nonRDFSource = NON_RDF_REGISTRY.get(type);
+        if (nonRDFSource == null) {
+            final MethodHandle withHeaders = find(constructors, URI.class, String.class, InputStream.class,
+                    Headers.class);
+            final MethodHandle withMetadata = find(constructors, URI.class, String.class, InputStream.class,
+                    Metadata.class);
+            final MethodHandle basic = find(constructors, URI.class, String.class, InputStream.class);
+            if (withHeaders != null) {
+                nonRDFSource = (identifier, contentType, entity, headers) ->
+                    invoke(withHeaders, identifier, contentType, entity, headers);
+            } else if (withMetadata != null) {
+                nonRDFSource = (identifier, contentType, entity, headers) ->
+                    invoke(withMetadata, identifier, contentType, entity, Metadata.of(identifier, headers));
+            } else if (basic != null) {
+                nonRDFSource = (identifier, contentType, entity, headers) ->
+                    invoke(basic, identifier, contentType, entity);
+            }
+        }
+
+        return new Resolved(rdfSource, nonRDFSource);
+    }
+
+    static MethodHandle find(final Constructor<?>[] constructors, final Class<?>... parameterTypes) {
+        for (final Constructor<?> constructor : constructors) {
+            if (Arrays.equals(constructor.getParameterTypes(), parameterTypes)) {
+                try {
+                    // Adapt the handle to a generic signature so that it can be invoked without boxing or lookup
+                    return LOOKUP.unreflectConstructor(constructor)
+                        .asType(MethodType.genericMethodType(parameterTypes.length))
+                        .asSpreader(Object[].class, parameterTypes.length);
+                } catch (final IllegalAccessException ex) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings({"unchecked", "java:S1181"}) // MethodHandle invocation declares Throwable
+    static <T> T invoke(final MethodHandle handle, final Object... args) throws ReflectiveOperationException {
+        try {
+            return (T) (Object) handle.invokeExact(args);
+        } catch (final Error err) {
+            throw err;
+        } catch (final Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    static final class Resolved {
+        final RDFSourceFactory<?> rdfSource;
+        final NonRDFSourceFactory<?> nonRDFSource;
+
+        Resolved(final RDFSourceFactory<?> rdfSource, final NonRDFSourceFactory<?> nonRDFSource) {
+            this.rdfSource = rdfSource;
+            this.nonRDFSource = nonRDFSource;
+        }
+    }
+
+    private ResourceFactories() {
+        // Prevent instantiation
+    }
+}
@@ -22,19 +22,28 @@ package com.inrupt.client.solid;
 
 import com.inrupt.client.*;
 import com.inrupt.client.auth.Session;
+import com.inrupt.client.spi.RDFFactory;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.apache.commons.rdf.api.Dataset;
 
@@ -48,18 +57,30 @@ public class SolidClient {
     private static final String USER_AGENT = "User-Agent";
     private static final String ACCEPT = "Accept";
     private static final String CONTENT_TYPE = "Content-Type";
+    private static final String CONTENT_LENGTH = "Content-Length";
     private static final String IF_NONE_MATCH = "If-None-Match";
-    private static final String TEXT_TURTLE = "text/turtle";
+    private static final String IF_MATCH = "If-Match";
+    private static final String ETAG = "ETag";
     private static final String WILDCARD = "*";
+    private static final int DEFAULT_CONCURRENCY = 8;
+    private static final int METHOD_NOT_ALLOWED = 405;
+    private static final int UNSUPPORTED_MEDIA_TYPE = 415;
 
     private final Client client;
     private final Headers defaultHeaders;
     private final boolean fetchAfterWrite;
+    private final boolean buildAfterWrite;
 
     SolidClient(final Client client, final Headers headers, final boolean fetchAfterWrite) {
+        this(client, headers, fetchAfterWrite, false);
+    }
+
+    SolidClient(final Client client, final Headers headers, final boolean fetchAfterWrite,
+            final boolean buildAfterWrite) {
         this.client = Objects.requireNonNull(client, "Client may not be null!");
         this.defaultHeaders = Objects.requireNonNull(headers, "Headers may not be null!");
         this.fetchAfterWrite = fetchAfterWrite;
+        this.buildAfterWrite = buildAfterWrite;
     }
 
     /**
@@ -70,7 +91,7 @@ public class SolidClient {
      */
     public SolidClient session(final Session session) {
         Objects.requireNonNull(session, "Session may not be null!");
-        return new SolidClient(client.session(session), defaultHeaders, fetchAfterWrite);
+        return new SolidClient(client.session(session), defaultHeaders, fetchAfterWrite, buildAfterWrite);
     }
 
     /**
@@ -114,17 +135,20 @@ public class SolidClient {
         decorateHeaders(builder, defaultHeaders);
         decorateHeaders(builder, headers);
 
-        if (RDFSource.class.isAssignableFrom(clazz)) {
-            builder.setHeader(ACCEPT, TEXT_TURTLE);
+        // A caller-supplied Accept header takes precedence over the default RDF media types
+        if (RDFSource.class.isAssignableFrom(clazz) && !defaultHeaders.firstValue(ACCEPT).isPresent()
+                && !headers.firstValue(ACCEPT).isPresent()) {
+            builder.setHeader(ACCEPT, SolidResourceHandlers.getRdfMediaTypes());
         }
 
         defaultHeaders.firstValue(USER_AGENT).ifPresent(agent -> builder.setHeader(USER_AGENT, agent));
         headers.firstValue(USER_AGENT).ifPresent(agent -> builder.setHeader(USER_AGENT, agent));
 
         final Request request = builder.build();
+        final boolean rdf = RDFSource.class.isAssignableFrom(clazz);
         return client.send(
                 request,
-                Response.BodyHandlers.ofByteArray()
+                SolidResourceHandlers.ofPayload(rdf)
             ).thenApply(response -> {
                 if (!isSuccess(response.statusCode())) {
                     throw SolidClientException.handle(
@@ -132,7 +156,7 @@ public class SolidClient {
                         response.uri(),
                         response.statusCode(),
                         response.headers(),
-                        new String(response.body(), StandardCharsets.UTF_8)
+                        new String(response.body().getData(), StandardCharsets.UTF_8)
                     );
                 }
 
@@ -140,10 +164,9 @@ public class SolidClient {
                     .orElse("application/octet-stream");
                 try {
                     // Check that this is an RDFSoure
-                    if (RDFSource.class.isAssignableFrom(clazz)) {
-                        final Dataset dataset = SolidResourceHandlers.buildDataset(contentType, response.body(),
-                                request.uri().toString()).orElse(null);
-                        final T obj = construct(request.uri(), clazz, dataset, response.headers());
+                    if (rdf) {
+                        final T obj = construct(request.uri(), clazz, response.body().getDataset(),
+                                response.headers());
                         final ValidationResult res = RDFSource.class.cast(obj).validate();
                         if (!res.isValid()) {
                             throw new DataMappingException(
@@ -154,7 +177,7 @@ public class SolidClient {
                     // Otherwise, create a non-RDF-bearing resource
                     } else {
                         return construct(request.uri(), clazz, contentType,
-                                new ByteArrayInputStream(response.body()), response.headers());
+                                new ByteArrayInputStream(response.body().getData()), response.headers());
                     }
                 } catch (final ReflectiveOperationException ex) {
                     throw new SolidResourceException("Unable to read resource into type " + clazz.getName(),
@@ -177,13 +200,18 @@ public class SolidClient {
     /**
      * Create a new Solid Resource.
      *
+     * <p>RDF resources are serialized when the request is built. Very large RDF resources are instead serialized
+     * as the request is sent, in which case the resource must not be modified until the returned stage completes.
+     *
      * @param resource the resource
      * @param headers headers to add to this request
      * @param <T> the resource type
      * @return the next stage of completion
      */
     public <T extends Resource> CompletionStage<T> create(final T resource, final Headers headers) {
-        final Request.Builder builder = Request.newBuilder(resource.getIdentifier()).PUT(cast(resource));
+        final RDFSource.Changes changes = snapshotChanges(resource);
+        final Request.BodyPublisher entity = cast(resource);
+        final Request.Builder builder = Request.newBuilder(resource.getIdentifier()).PUT(entity);
 
         decorateHeaders(builder, defaultHeaders);
         decorateHeaders(builder, headers);
@@ -192,8 +220,8 @@ public class SolidClient {
         defaultHeaders.firstValue(USER_AGENT).ifPresent(agent -> builder.setHeader(USER_AGENT, agent));
         headers.firstValue(USER_AGENT).ifPresent(agent -> builder.setHeader(USER_AGENT, agent));
 
-        return client.send(builder.build(), Response.BodyHandlers.ofByteArray())
-            .thenCompose(handleResponse(resource, headers, "Unable to create resource"));
+        return verifyEntity(entity, client.send(builder.build(), Response.BodyHandlers.ofByteArray()))
+            .thenCompose(handleResponse(resource, entity, changes, headers, "Unable to create resource"));
     }
 
     /**
@@ -210,23 +238,68 @@ public class SolidClient {
     /**
      * Update an existing Solid Resource.
      *
+     * <p>If the resource is a {@link SolidResource} whose only changes since it was read are triple additions and
+     * removals, and the server advertises support for N3 Patch or SPARQL Update, the changes are sent with a
+     * {@code PATCH} request. The resource's {@code ETag}, if known, is sent as an {@code If-Match} header with the
+     * patch, so the request fails if the resource has been modified on the server in the meantime. Otherwise, the
+     * entire resource is replaced with a {@code PUT} request.
+     *
+     * <p>RDF resources are serialized when the request is built. Very large RDF resources are instead serialized
+     * as the request is sent, in which case the resource must not be modified until the returned stage completes.
+     *
      * @param resource the resource
      * @param headers headers to add to this request
      * @param <T> the resource type
      * @return the next stage of completion
      */
     public <T extends Resource> CompletionStage<T> update(final T resource, final Headers headers) {
-        final Request.Builder builder = Request.newBuilder(resource.getIdentifier()).PUT(cast(resource));
+        final Optional<RDFPatch> patch = RDFPatch.of(resource);
+        if (patch.isPresent()) {
+            return patch(resource, patch.get(), headers);
+        }
+        return replace(resource, headers);
+    }
+
+    <T extends Resource> CompletionStage<T> patch(final T resource, final RDFPatch patch, final Headers headers) {
+        final Request.BodyPublisher entity = patch.getEntity();
+        final Request.Builder builder = Request.newBuilder(resource.getIdentifier()).PATCH(entity);
 
         decorateHeaders(builder, defaultHeaders);
         decorateHeaders(builder, headers);
 
-        builder.setHeader(CONTENT_TYPE, resource.getContentType());
+        builder.setHeader(CONTENT_TYPE, patch.getContentType());
+        // A patch is computed against the version that was read, so only apply it to that same version
+        if (!defaultHeaders.firstValue(IF_MATCH).isPresent() && !headers.firstValue(IF_MATCH).isPresent()) {
+            resource.getHeaders().firstValue(ETAG).ifPresent(etag -> builder.setHeader(IF_MATCH, etag));
+        }
         defaultHeaders.firstValue(USER_AGENT).ifPresent(agent -> builder.setHeader(USER_AGENT, agent));
         headers.firstValue(USER_AGENT).ifPresent(agent -> builder.setHeader(USER_AGENT, agent));
 
         return client.send(builder.build(), Response.BodyHandlers.ofByteArray())
-            .thenCompose(handleResponse(resource, headers, "Unable to update resource"));
+            .thenCompose(res -> {
+                // Fall back to a full replacement if the server rejects the patch request or syntax
+                if (res.statusCode() == METHOD_NOT_ALLOWED || res.statusCode() == UNSUPPORTED_MEDIA_TYPE) {
+                    return replace(resource, headers);
+                }
+                return handleResponse(resource, entity, patch.getChanges(), headers, "Unable to update resource")
+                    .apply(res);
+            });
+    }
+
+    <T extends Resource> CompletionStage<T> replace(final T resource, final Headers headers) {
+        final RDFSource.Changes changes = snapshotChanges(resource);
+        final Request.BodyPublisher entity = cast(resource);
+        final Request.Builder builder = Request.newBuilder(resource.getIdentifier()).PUT(entity);
+
+        decorateHeaders(builder, defaultHeaders);
+        decorateHeaders(builder, headers);
+
+        builder.setHeader(CONTENT_TYPE, resource.getContentType());
+        defaultHeaders.firstValue(USER_AGENT).ifPresent(agent -> builder.setHeader(USER_AGENT, agent));
+        headers.firstValue(USER_AGENT).ifPresent(agent -> builder.setHeader(USER_AGENT, agent));
+
+        return verifyEntity(entity, client.send(builder.build(), Response.BodyHandlers.ofByteArray()))
+            .thenCompose(handleResponse(resource, entity, changes, headers, "Unable to update resource"));
     }
 
     /**
@@ -296,6 +369,48 @@ public class SolidClient {
         });
     }
 
+    /**
+     * Recursively delete a Solid Resource, including all contained resources.
+     *
+     * @param identifier the resource URI
+     * @return the next stage of completion
+     */
+    public CompletionStage<Void> deleteRecursive(final URI identifier) {
+        return deleteRecursive(identifier, EMPTY_HEADERS);
+    }
+
+    /**
+     * Recursively delete a Solid Resource, including all contained resources.
+     *
+     * @param identifier the resource URI
+     * @param headers headers to add to each request
+     * @return the next stage of completion
+     */
+    public CompletionStage<Void> deleteRecursive(final URI identifier, final Headers headers) {
+        return deleteRecursive(identifier, headers, DEFAULT_CONCURRENCY, uri -> { });
+    }
+
+    /**
+     * Recursively delete a Solid Resource, including all contained resources.
+     *
+     * <p>The container hierarchy is discovered concurrently and contained resources are deleted in parallel.
+     * A container is only deleted once all of its members have been deleted. If any request fails, the
+     * returned stage completes exceptionally, though requests already in flight may still complete.
+     *
+     * @param identifier the resource URI
+     * @param headers headers to add to each request
+     * @param maxConcurrency the maximum number of concurrent requests
+     * @param listener a callback that is notified after each resource has been deleted
+     * @return the next stage of completion
+     */
+    public CompletionStage<Void> deleteRecursive(final URI identifier, final Headers headers,
+            final int maxConcurrency, final Consumer<URI> listener) {
+        Objects.requireNonNull(identifier, "Identifier may not be null!");
+        Objects.requireNonNull(headers, "Headers may not be null!");
+        Objects.requireNonNull(listener, "Listener may not be null!");
+        return deleteTree(identifier, headers, new ConcurrencyLimiter(maxConcurrency), listener);
+    }
+
     /**
      * Get the {@link SolidClient} for the current application.
      *
@@ -321,6 +436,7 @@ public class SolidClient {
         private Client builderClient;
         private Headers builderHeaders;
         private boolean builderFetchAfterWrite = true;
+        private boolean builderBuildAfterWrite;
 
         Builder() {
         }
@@ -361,6 +477,23 @@ public class SolidClient {
             return this;
         }
 
+        /**
+         * Set whether to build the result of a write operation locally, without fetching the remote resource.
+         *
+         * <p>When enabled, the resource returned from a successful write is constructed from the entity that was
+         * sent to the server along with the headers of the write response, such as {@code ETag} and {@code Link}.
+         * This avoids an additional {@code GET} request for each write. Note that servers do not generally include
+         * all resource metadata (for example, {@code WAC-Allow}) in write responses; if that metadata is required,
+         * read the resource explicitly. This setting takes precedence over {@link #fetchAfterWrite}.
+         *
+         * @param build whether to build the resource from the write response
+         * @return this builder
+         */
+        public Builder buildAfterWrite(final boolean build) {
+            this.builderBuildAfterWrite = build;
+            return this;
+        }
+
         /**
          * Build the {@link SolidClient}.
          *
@@ -369,12 +502,18 @@ public class SolidClient {
         public SolidClient build() {
             final Client c = builderClient == null ? ClientProvider.getClient() : builderClient;
             final Headers h = builderHeaders == null ? EMPTY_HEADERS : builderHeaders;
-            return new SolidClient(c, h, builderFetchAfterWrite);
+            return new SolidClient(c, h, builderFetchAfterWrite, builderBuildAfterWrite);
         }
     }
 
     <T extends Resource> Function<Response<byte[]>, CompletionStage<T>> handleResponse(final T resource,
             final Headers headers, final String message) {
+        return handleResponse(resource, null, null, headers, message);
+    }
+
+    <T extends Resource> Function<Response<byte[]>, CompletionStage<T>> handleResponse(final T resource,
+            final Request.BodyPublisher entity, final RDFSource.Changes changes, final Headers headers,
+            final String message) {
         return res -> {
             if (!isSuccess(res.statusCode())) {
                 throw SolidClientException.handle(
@@ -386,6 +525,15 @@ public class SolidClient {
                 );
             }
 
+            if (changes != null) {
+                // The remote resource now reflects the changes that were sent, but not any made since
+                ((RDFSource) resource).resetChanges(changes);
+            }
+
+            if (buildAfterWrite && entity != null) {
+                return CompletableFuture.completedFuture(rebuild(resource, entity, res.headers()));
+            }
+
             if (!fetchAfterWrite) {
                 return CompletableFuture.completedFuture(resource);
             }
@@ -396,55 +544,71 @@ public class SolidClient {
         };
     }
 
-    static <T extends Resource> T construct(final URI identifier, final Class<T> clazz,
-            final Dataset dataset, final Headers headers) throws ReflectiveOperationException {
-        // First try an arity-3 ctor with headers
-        try {
-            return clazz.getConstructor(URI.class, Dataset.class, Headers.class)
-                .newInstance(identifier, dataset, headers);
-        } catch (final NoSuchMethodException ex) {
-            // no-op
+    CompletionStage<Void> deleteTree(final URI identifier, final Headers headers, final ConcurrencyLimiter limiter,
+            final Consumer<URI> listener) {
+        final CompletionStage<Void> members;
+        if (SolidContainer.isContainer(identifier)) {
+            members = limiter.submit(() -> read(identifier, headers, SolidContainer.class))
+                .thenCompose(container -> {
+                    try (final SolidContainer c = container; final Stream<SolidResource> children = c.resources()) {
+                        return CompletableFuture.allOf(children
+                                .map(child -> deleteTree(child.getIdentifier(), headers, limiter, listener)
+                                    .toCompletableFuture())
+                                .toArray(CompletableFuture[]::new));
+                    }
+                });
+        } else {
+            members = CompletableFuture.completedFuture(null);
         }
 
-        // Next, try an arity-3 ctor with metadata
-        // TODO: this construct is deprecated and can be removed in a future version
+        return members.thenCompose(x -> limiter.submit(() -> delete(identifier, headers)))
+            .thenRun(() -> listener.accept(identifier));
+    }
+
+    static <T extends Resource> T rebuild(final T resource, final Request.BodyPublisher entity,
+            final Headers responseHeaders) {
+        @SuppressWarnings("unchecked")
+        final Class<T> clazz = (Class<T>) resource.getClass();
+        final URI identifier = resource.getIdentifier();
+        final Headers headers = writeHeaders(resource.getContentType(), responseHeaders);
         try {
-            final Metadata metadata = Metadata.of(identifier, headers);
-            return clazz.getConstructor(URI.class, Dataset.class, Metadata.class)
-                        .newInstance(identifier, dataset, metadata);
-        } catch (final NoSuchMethodException ex) {
-            // no-op
+            if (resource instanceof RDFSource) {
+                // Copy the local dataset rather than parsing the serialized entity again. The caller keeps
+                // ownership of the original resource, so the two must not share mutable state.
+                final Dataset dataset = RDFFactory.getInstance().createDataset();
+                ((RDFSource) resource).stream().forEach(dataset::add);
+                return construct(identifier, clazz, dataset, headers);
+            }
+            return construct(identifier, clazz, resource.getContentType(),
+                    new ByteArrayInputStream(entity.getBytes().array()), headers);
+        } catch (final ReflectiveOperationException ex) {
+            throw new SolidResourceException("Unable to build resource of type " + clazz.getName(), ex);
         }
+    }
 
-        // Fall back to an arity-2 ctor
-        return clazz.getConstructor(URI.class, Dataset.class)
-                    .newInstance(identifier, dataset);
+    static Headers writeHeaders(final String contentType, final Headers responseHeaders) {
+        final Map<String, List<String>> data = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (responseHeaders != null) {
+            data.putAll(responseHeaders.asMap());
+        }
+        // The response entity, if any, does not describe the written resource
+        data.remove(CONTENT_TYPE);
+        data.remove(CONTENT_LENGTH);
+        if (contentType != null) {
+            data.put(CONTENT_TYPE, Collections.singletonList(contentType));
+        }
+        return Headers.of(data);
+    }
+
+    static <T extends Resource> T construct(final URI identifier, final Class<T> clazz,
+            final Dataset dataset, final Headers headers) throws ReflectiveOperationException {
+        return ResourceFactories.rdfSource(clazz).create(identifier, dataset, headers);
     }
 
     static <T extends Resource> T construct(final URI identifier, final Class<T> clazz,
             final String contentType, final InputStream entity, final Headers headers)
             throws ReflectiveOperationException {
-        // First try an arity-4 ctor with headers
-        try {
-            return clazz.getConstructor(URI.class, String.class, InputStream.class, Headers.class)
-                .newInstance(identifier, contentType, entity, headers);
-        } catch (final NoSuchMethodException ex) {
-            // no-op
-        }
-
-        // Next try an arity-4 ctor with metadata
-        // TODO: this construct is deprecated and can be removed in a future version
-        try {
-            final Metadata metadata = Metadata.of(identifier, headers);
-            return clazz.getConstructor(URI.class, String.class, InputStream.class, Metadata.class)
-                .newInstance(identifier, contentType, entity, metadata);
-        } catch (final NoSuchMethodException ex) {
-            // no-op
-        }
-
-        // Fall back to an arity-3 ctor
-        return clazz.getConstructor(URI.class, String.class, InputStream.class)
-            .newInstance(identifier, contentType, entity);
+        return ResourceFactories.nonRDFSource(clazz).create(identifier, contentType, entity, headers);
     }
 
     static void decorateHeaders(final Request.Builder builder, final Headers headers) {
@@ -455,16 +619,169 @@ public class SolidClient {
         }
     }
 
+    static RDFSource.Changes snapshotChanges(final Resource resource) {
+        if (resource instanceof RDFSource) {
+            return ((RDFSource) resource).getChanges();
+        }
+        return null;
+    }
+
     static boolean isSuccess(final int statusCode) {
         return statusCode >= 200 && statusCode < 300;
     }
 
     static Request.BodyPublisher cast(final Resource resource) {
+        if (resource instanceof RDFSource) {
+            return new RDFEntity((RDFSource) resource);
+        }
         try {
             return Request.BodyPublishers.ofInputStream(resource.getEntity());
         } catch (final IOException ex) {
-            throw new SolidResourceException("Unable to serialize " + resource.getClass().getName() +
-                    " into Solid Resource", ex);
+            throw serializationError(resource, ex);
+        }
+    }
+
+    static <T> CompletionStage<T> verifyEntity(final Request.BodyPublisher entity, final CompletionStage<T> stage) {
+        if (!(entity instanceof RDFEntity)) {
+            return stage;
+        }
+
+        // A streamed entity may fail after the request has started, so surface that failure in place of the response
+        final RDFEntity rdfEntity = (RDFEntity) entity;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        stage.whenComplete((res, err) -> {
+            if (rdfEntity.error != null) {
+                future.completeExceptionally(serializationError(rdfEntity.resource, rdfEntity.error));
+            } else if (err != null) {
+                future.completeExceptionally(err);
+            } else {
+                future.complete(res);
+            }
+        });
+        return future;
+    }
+
+    static SolidResourceException serializationError(final Resource resource, final Throwable cause) {
+        return new SolidResourceException("Unable to serialize " + resource.getClass().getName() +
+                " into Solid Resource", cause);
+    }
+
+    /**
+     * A request body for an RDF source.
+     *
+     * <p>Resources of up to {@link #MAX_BUFFERED_QUADS} quads are serialized immediately into a buffer, so that the
+     * body is a snapshot of the resource, every retry sends the same bytes, and the request carries a
+     * {@code Content-Length}. Larger resources are serialized directly into each outgoing request instead, and
+     * an error raised by the serializer during the most recent write is recorded.
+     */
+    static final class RDFEntity implements Request.BodyPublisher {
+        static final long MAX_BUFFERED_QUADS = 10_000;
+
+        private final RDFSource resource;
+        private final Request.BodyPublisher publisher;
+        private volatile IOException error;
+
+        RDFEntity(final RDFSource resource) {
+            this(resource, MAX_BUFFERED_QUADS);
+        }
+
+        RDFEntity(final RDFSource resource, final long maxBufferedQuads) {
+            this.resource = resource;
+            if (resource.size() <= maxBufferedQuads) {
+                this.publisher = Request.BodyPublishers.ofByteArray(serialize(resource));
+            } else {
+                this.publisher = Request.BodyPublishers.ofWriter(this::write);
+            }
+        }
+
+        static byte[] serialize(final RDFSource resource) {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            try {
+                resource.writeEntity(output);
+            } catch (final IOException ex) {
+                throw serializationError(resource, ex);
+            }
+            return output.toByteArray();
+        }
+
+        void write(final OutputStream output) throws IOException {
+            error = null;
+            final DestinationOutputStream destination = new DestinationOutputStream(output);
+            try {
+                resource.writeEntity(destination);
+            } catch (final IOException ex) {
+                // A failure of the request stream itself, such as a closed pipe, is reported by the exchange
+                if (destination.getFailure() == null) {
+                    error = ex;
+                }
+                throw ex;
+            } catch (final RuntimeException ex) {
+                // Serializers may wrap a failure of the request stream in an unchecked exception
+                if (destination.getFailure() != null) {
+                    throw destination.getFailure();
+                }
+                throw ex;
+            }
+        }
+
+        @Override
+        public ByteBuffer getBytes() {
+            return publisher.getBytes();
+        }
+
+        @Override
+        public long contentLength() {
+            return publisher.contentLength();
+        }
+
+        @Override
+        public void writeTo(final OutputStream output) throws IOException {
+            publisher.writeTo(output);
+        }
+    }
+
+    /**
+     * An output stream that records a failure of the underlying stream.
+     */
+    static final class DestinationOutputStream extends FilterOutputStream {
+        private IOException failure;
+
+        DestinationOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        IOException getFailure() {
+            return failure;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            try {
+                out.write(b);
+            } catch (final IOException ex) {
+                failure = ex;
+                throw ex;
+            }
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            try {
+                out.write(b, off, len);
+            } catch (final IOException ex) {
+                failure = ex;
+                throw ex;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            try {
+                out.flush();
+            } catch (final IOException ex) {
+                failure = ex;
+                throw ex;
+            }
         }
     }
 }
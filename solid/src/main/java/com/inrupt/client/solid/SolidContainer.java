@@ -31,6 +31,7 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -96,21 +97,35 @@ public class SolidContainer extends SolidRDFSource {
      * @return the contained resources
      */
     public Set<SolidResource> getResources() {
+        try (final Stream<SolidResource> stream = resources()) {
+            return stream.collect(Collectors.collectingAndThen(Collectors.toSet(), Collections::unmodifiableSet));
+        }
+    }
+
+    /**
+     * Stream the resources contained in this SolidContainer.
+     *
+     * <p>Unlike {@link #getResources()}, this does not collect the contained resources, which can be
+     * useful for very large containers. The stream should be closed after use.
+     *
+     * @return the contained resources
+     */
+    public Stream<SolidResource> resources() {
         // As defined by the Solid Protocol, containers always end with a slash.
         final URI base = getIdentifier().normalize();
         if (isContainer(base)) {
-            final String container = normalize(base);
+            final Containment containment = new Containment(normalize(base));
+            final Optional<URI> storage = getMetadata().getStorage();
+            // Children without any types share a single metadata object
+            final Metadata untyped = childMetadata(storage, Collections.emptyList());
             final Node node = new Node(rdf.createIRI(base.toString()), getGraph());
-            try (final Stream<Node.TypedNode> stream = node.getResources()) {
-                return stream.filter(child -> verifyContainmentIri(container, child)).map(child -> {
-                    final Metadata.Builder builder = Metadata.newBuilder();
-                    getMetadata().getStorage().ifPresent(builder::storage);
-                    child.getTypes().forEach(builder::type);
-                    return new SolidResourceReference(URI.create(child.getIRIString()), builder.build());
-                }).collect(Collectors.collectingAndThen(Collectors.toSet(), Collections::unmodifiableSet));
-            }
+            return node.getResources().filter(child -> containment.verify(child.getIRIString())).map(child -> {
+                final List<URI> types = child.getTypes().collect(Collectors.toList());
+                return new SolidResourceReference(URI.create(child.getIRIString()),
+                        types.isEmpty() ? untyped : childMetadata(storage, types));
+            });
         }
-        return Collections.emptySet();
+        return Stream.empty();
     }
 
     @Override
@@ -145,15 +160,23 @@ public class SolidContainer extends SolidRDFSource {
         return uri.normalize().toString().split("#")[0].split("\\?")[0];
     }
 
+    static Metadata childMetadata(final Optional<URI> storage, final List<URI> types) {
+        final Metadata.Builder builder = Metadata.newBuilder();
+        storage.ifPresent(builder::storage);
+        types.forEach(builder::type);
+        return builder.build();
+    }
+
     static Predicate<Triple> verifyContainmentTriple(final String container) {
         final IRI subject = rdf.createIRI(container);
+        final Containment containment = new Containment(container);
         return triple -> {
             if (!triple.getSubject().equals(subject)) {
                 // Out-of-domain containment triple subject
                 return false;
             }
             if (triple.getObject() instanceof IRI) {
-                return verifyContainmentIri(container, (IRI) triple.getObject());
+                return containment.verify(((IRI) triple.getObject()).getIRIString());
             }
             // Non-URI containment triple object
             return false;
@@ -161,10 +184,13 @@ public class SolidContainer extends SolidRDFSource {
     }
 
     static boolean verifyContainmentIri(final String container, final IRI object) {
+        return verifyContainmentIri(URI.create(container).normalize(), object.getIRIString());
+    }
+
+    static boolean verifyContainmentIri(final URI base, final String object) {
 
         // URI Structure Tests
-        final URI base = URI.create(container).normalize();
-        final URI normalized = URI.create(object.getIRIString()).normalize();
+        final URI normalized = URI.create(object).normalize();
 
         // Query strings are not allowed in subject or object URI
         if (base.getQuery() != null || normalized.getQuery() != null) {
@@ -199,6 +225,60 @@ public class SolidContainer extends SolidRDFSource {
         return !normalizedPath.contains("/");
     }
 
+    /**
+     * Verifies containment triple objects for a single container.
+     *
+     * <p>The container URI is parsed once. Objects that are a single, plain path segment below the container
+     * are accepted with string operations; any other object is checked by parsing and relativizing its URI.
+     */
+    static final class Containment {
+        private static final String SEGMENT_SYMBOLS = "-._~!$&'()*+,;=:@";
+
+        private final URI base;
+        private final String prefix;
+
+        Containment(final String container) {
+            this.base = URI.create(container).normalize();
+            this.prefix = isPlainContainer(base) ? base.toString() : null;
+        }
+
+        boolean verify(final String object) {
+            if (prefix != null && object.startsWith(prefix) && isChildSegment(object, prefix.length())) {
+                return true;
+            }
+            return verifyContainmentIri(base, object);
+        }
+
+        static boolean isPlainContainer(final URI uri) {
+            return uri.isAbsolute() && !uri.isOpaque() && uri.getRawQuery() == null && uri.getRawFragment() == null
+                && uri.getRawPath() != null && uri.getRawPath().endsWith("/");
+        }
+
+        static boolean isChildSegment(final String object, final int start) {
+            // Allow a single trailing slash for child containers
+            final int end = object.charAt(object.length() - 1) == '/' ? object.length() - 1 : object.length();
+            if (end <= start) {
+                return false;
+            }
+            // Dot segments would be changed by URI normalization
+            final int length = end - start;
+            if (object.charAt(start) == '.' && (length == 1 || length == 2 && object.charAt(start + 1) == '.')) {
+                return false;
+            }
+            for (int i = start; i < end; i++) {
+                if (!isSegmentChar(object.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        static boolean isSegmentChar(final char c) {
+            return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9'
+                || SEGMENT_SYMBOLS.indexOf(c) >= 0;
+        }
+    }
+
     @SuppressWarnings("java:S2160") // Wrapper equality is correctly delegated to underlying node
     static final class Node extends WrapperIRI {
         private final IRI ldpContains = rdf.createIRI(LDP.contains.toString());
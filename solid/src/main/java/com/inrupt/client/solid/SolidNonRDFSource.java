@@ -31,7 +31,8 @@ import java.net.URI;
  */
 public class SolidNonRDFSource extends NonRDFSource implements SolidResource {
 
-    private final Metadata metadata;
+    // Parsed from the headers on first access, since many readers never need the metadata
+    private volatile Metadata metadata;
 
     /**
      * Create a non-RDF-bearing Solid Resource.
@@ -77,8 +78,6 @@ public class SolidNonRDFSource extends NonRDFSource implements SolidResource {
         super(identifier, contentType, entity, headers);
         if (headers == null) {
             this.metadata = Metadata.newBuilder().build();
-        } else {
-            this.metadata = Metadata.of(identifier, headers);
         }
     }
 
@@ -89,6 +88,16 @@ public class SolidNonRDFSource extends NonRDFSource implements SolidResource {
      */
     @Override
     public Metadata getMetadata() {
-        return metadata;
+        Metadata result = metadata;
+        if (result == null) {
+            synchronized (this) {
+                result = metadata;
+                if (result == null) {
+                    result = Metadata.of(getIdentifier(), getHeaders());
+                    metadata = result;
+                }
+            }
+        }
+        return result;
     }
 }
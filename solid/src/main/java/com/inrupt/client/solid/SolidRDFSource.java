@@ -32,7 +32,8 @@ import org.apache.commons.rdf.api.Dataset;
  */
 public class SolidRDFSource extends RDFSource implements SolidResource {
 
-    private final Metadata metadata;
+    // Parsed from the headers on first access, since many readers never need the metadata
+    private volatile Metadata metadata;
 
     /**
      * Create a Solid resource.
@@ -82,13 +83,21 @@ public class SolidRDFSource extends RDFSource implements SolidResource {
         super(identifier, dataset, headers);
         if (headers == null) {
             this.metadata = Metadata.newBuilder().build();
-        } else {
-            this.metadata = Metadata.of(identifier, headers);
         }
     }
 
     @Override
     public Metadata getMetadata() {
-        return metadata;
+        Metadata result = metadata;
+        if (result == null) {
+            synchronized (this) {
+                result = metadata;
+                if (result == null) {
+                    result = Metadata.of(getIdentifier(), getHeaders());
+                    metadata = result;
+                }
+            }
+        }
+        return result;
     }
 }
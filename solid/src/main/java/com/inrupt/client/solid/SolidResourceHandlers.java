@@ -25,7 +25,6 @@ import com.inrupt.client.Response;
 import com.inrupt.client.spi.RdfService;
 import com.inrupt.client.spi.ServiceProvider;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Optional;
@@ -40,6 +39,7 @@ public final class SolidResourceHandlers {
 
     private static final RdfService service = ServiceProvider.getRdfService();
     private static final String CONTENT_TYPE = "Content-Type";
+    private static final String RDF_MEDIA_TYPES = buildAcceptHeader();
 
     /**
      * Transform an HTTP response into a Solid Resource.
@@ -52,7 +52,7 @@ public final class SolidResourceHandlers {
 
             return headers.firstValue(CONTENT_TYPE)
                 .flatMap(contentType ->
-                        buildDataset(contentType, responseInfo.body().array(), responseInfo.uri().toString()))
+                        buildDataset(contentType, responseInfo.bodyAsStream(), responseInfo.uri().toString()))
                 .map(dataset -> new SolidRDFSource(responseInfo.uri(), dataset, headers))
                 .orElseGet(() -> new SolidRDFSource(responseInfo.uri(), null, headers));
         };
@@ -68,21 +68,91 @@ public final class SolidResourceHandlers {
             final Headers headers = responseInfo.headers();
             return headers.firstValue(CONTENT_TYPE)
                 .flatMap(contentType ->
-                        buildDataset(contentType, responseInfo.body().array(), responseInfo.uri().toString()))
+                        buildDataset(contentType, responseInfo.bodyAsStream(), responseInfo.uri().toString()))
                 .map(dataset -> new SolidContainer(responseInfo.uri(), dataset, headers))
                 .orElseGet(() -> new SolidContainer(responseInfo.uri(), null, headers));
         };
     }
 
-    static Optional<Dataset> buildDataset(final String contentType, final byte[] data, final String baseUri) {
-        return RDFSyntax.byMediaType(contentType)
-            .map(syntax -> {
-                try (final InputStream input = new ByteArrayInputStream(data)) {
-                    return service.toDataset(syntax, input, baseUri);
-                } catch (final IOException ex) {
-                    throw new SolidResourceException("Error parsing Solid Container as RDF", ex);
+    /**
+     * Transform an HTTP response into either a parsed dataset or the raw response body.
+     *
+     * <p>Successful responses with an RDF media type are parsed directly from the response stream, so
+     * the serialized document is never buffered in full. All other responses are buffered so that they
+     * can be mapped into a non-RDF resource or an error.
+     *
+     * @param rdf whether the response should be parsed as RDF, if possible
+     * @return an HTTP body handler
+     */
+    static Response.BodyHandler<Payload> ofPayload(final boolean rdf) {
+        return responseInfo -> {
+            final int status = responseInfo.statusCode();
+            if (rdf && status >= 200 && status < 300) {
+                final Optional<RDFSyntax> syntax = responseInfo.headers().firstValue(CONTENT_TYPE)
+                    .flatMap(service::getSyntax);
+                if (syntax.isPresent()) {
+                    return new Payload(parse(syntax.get(), responseInfo.bodyAsStream(),
+                                responseInfo.uri().toString()), null);
                 }
-            });
+                return new Payload(null, null);
+            }
+            return new Payload(null, responseInfo.body().array());
+        };
+    }
+
+    static Optional<Dataset> buildDataset(final String contentType, final InputStream data, final String baseUri) {
+        return service.getSyntax(contentType).map(syntax -> parse(syntax, data, baseUri));
+    }
+
+    static Dataset parse(final RDFSyntax syntax, final InputStream data, final String baseUri) {
+        try (final InputStream input = data) {
+            return service.toDataset(syntax, input, baseUri);
+        } catch (final IOException ex) {
+            throw new SolidResourceException("Error parsing Solid Container as RDF", ex);
+        }
+    }
+
+    /**
+     * Get an {@code Accept} header value for RDF resources.
+     *
+     * <p>Any binary syntaxes supported by the RDF service are preferred, since they are much cheaper to parse.
+     * N-Triples is offered as a fast textual alternative, with Turtle as the final fallback. Callers that prefer a
+     * different order can set an {@code Accept} header in the client's default headers or on a single read.
+     *
+     * @return the media types, with quality values
+     */
+    static String getRdfMediaTypes() {
+        return RDF_MEDIA_TYPES;
+    }
+
+    static String buildAcceptHeader() {
+        final StringBuilder builder = new StringBuilder();
+        for (final RDFSyntax syntax : service.getBinarySyntaxes()) {
+            builder.append(syntax.mediaType()).append(", ");
+        }
+        return builder.append(RDFSyntax.NTRIPLES.mediaType()).append(";q=0.9, ")
+            .append(RDFSyntax.TURTLE.mediaType()).append(";q=0.8").toString();
+    }
+
+    /**
+     * A response payload, holding either a parsed dataset or the raw response body.
+     */
+    static final class Payload {
+        private final Dataset dataset;
+        private final byte[] data;
+
+        Payload(final Dataset dataset, final byte[] data) {
+            this.dataset = dataset;
+            this.data = data;
+        }
+
+        Dataset getDataset() {
+            return dataset;
+        }
+
+        byte[] getData() {
+            return data != null ? data : new byte[0];
+        }
     }
 
     private SolidResourceHandlers() {
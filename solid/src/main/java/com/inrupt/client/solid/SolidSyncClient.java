@@ -42,7 +42,12 @@ public class SolidSyncClient {
     private final SolidClient client;
 
     SolidSyncClient(final Client client, final Headers headers, final boolean fetchAfterWrite) {
-        this(new SolidClient(client, headers, fetchAfterWrite));
+        this(client, headers, fetchAfterWrite, false);
+    }
+
+    SolidSyncClient(final Client client, final Headers headers, final boolean fetchAfterWrite,
+            final boolean buildAfterWrite) {
+        this(new SolidClient(client, headers, fetchAfterWrite, buildAfterWrite));
     }
 
     SolidSyncClient(final SolidClient client) {
@@ -126,6 +131,15 @@ public class SolidSyncClient {
         awaitAsync(client.delete(resource));
     }
 
+    /**
+     * Recursively delete a Solid Resource, including all contained resources.
+     *
+     * @param identifier the resource URI
+     */
+    public void deleteRecursive(final URI identifier) {
+        awaitAsync(client.deleteRecursive(identifier));
+    }
+
     /**
      * Get the {@link SolidSyncClient} for the current application.
      *
@@ -146,6 +160,7 @@ public class SolidSyncClient {
         private Client builderClient;
         private Headers builderHeaders;
         private boolean builderFetchAfterWrite = true;
+        private boolean builderBuildAfterWrite;
 
         Builder() {
         }
@@ -186,6 +201,18 @@ public class SolidSyncClient {
             return this;
         }
 
+        /**
+         * Set whether to build the result of a write operation locally, without fetching the remote resource.
+         *
+         * @param build whether to build the resource from the write response
+         * @return this builder
+         * @see SolidClient.Builder#buildAfterWrite
+         */
+        public Builder buildAfterWrite(final boolean build) {
+            this.builderBuildAfterWrite = build;
+            return this;
+        }
+
         /**
          * Build the {@link SolidSyncClient}.
          *
@@ -194,7 +221,7 @@ public class SolidSyncClient {
         public SolidSyncClient build() {
             final Client c = builderClient == null ? ClientProvider.getClient() : builderClient;
             final Headers h = builderHeaders == null ? SolidClient.EMPTY_HEADERS : builderHeaders;
-            return new SolidSyncClient(c, h, builderFetchAfterWrite);
+            return new SolidSyncClient(c, h, builderFetchAfterWrite, builderBuildAfterWrite);
         }
     }
 
@@ -0,0 +1,425 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.solid;
+
+import com.inrupt.client.Headers;
+import com.inrupt.client.Request;
+import com.inrupt.client.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An incremental synchronizer that mirrors a Solid container tree into a local directory.
+ *
+ * <p>The ETag of every downloaded resource is recorded in a state file. On subsequent runs, each resource is
+ * fetched with a conditional request so that only added or changed resources are transferred, and local copies
+ * of resources that are no longer listed in their container are removed. Container listings and resource
+ * transfers are performed in parallel with a bounded number of concurrent requests. Resource bodies are streamed
+ * to disk rather than held in memory.
+ *
+ * <p>The state file is kept outside the target directory, so that it can neither collide with a mirrored
+ * resource nor be uploaded along with the mirrored tree. By default, it is a hidden sibling of the target
+ * directory: the state for {@code /data/pod} is stored in {@code /data/.pod.solid-sync.properties}.
+ *
+ * <p>The state file is replaced atomically at the end of each run and is also checkpointed periodically while
+ * a run is in progress. If a run fails, the stored state combines the previous state with the resources that
+ * were confirmed during the run, so an interrupted synchronization can be resumed without re-downloading
+ * resources that were already transferred.
+ */
+public final class SolidSynchronizer {
+
+    /** The suffix of the default state file name, which is appended to the name of the target directory. */
+    public static final String STATE_FILE_SUFFIX = ".solid-sync.properties";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SolidSynchronizer.class);
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String ETAG = "ETag";
+    private static final int NOT_MODIFIED = 304;
+    private static final String UTF_8 = "UTF-8";
+    private static final int CHECKPOINT_INTERVAL = 100;
+
+    private final SolidClient client;
+    private final Headers headers;
+    private final int maxConcurrency;
+
+    SolidSynchronizer(final SolidClient client, final Headers headers, final int maxConcurrency) {
+        this.client = Objects.requireNonNull(client, "Client may not be null!");
+        this.headers = Objects.requireNonNull(headers, "Headers may not be null!");
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Synchronize a Solid container tree into a local directory.
+     *
+     * <p>Failures for individual resources are recorded in the {@link SyncReport}. The returned stage only
+     * completes exceptionally if the source container itself cannot be listed or the state cannot be stored.
+     *
+     * @param source the container URI, which must end with a slash
+     * @param target the local directory
+     * @return the next stage of completion, including a report of the changes
+     */
+    public CompletionStage<SyncReport> sync(final URI source, final Path target) {
+        return sync(source, target, defaultStatePath(Objects.requireNonNull(target, "Target may not be null!")));
+    }
+
+    /**
+     * Synchronize a Solid container tree into a local directory, using a particular state file.
+     *
+     * @param source the container URI, which must end with a slash
+     * @param target the local directory
+     * @param stateFile the state file, which must be outside the target directory
+     * @return the next stage of completion, including a report of the changes
+     * @see #sync(URI, Path)
+     */
+    public CompletionStage<SyncReport> sync(final URI source, final Path target, final Path stateFile) {
+        if (!SolidContainer.isContainer(Objects.requireNonNull(source, "Source may not be null!"))) {
+            throw new IllegalArgumentException("Synchronization source must be a container URI: " + source);
+        }
+        Objects.requireNonNull(target, "Target may not be null!");
+        final Path statePath = Objects.requireNonNull(stateFile, "State file may not be null!").toAbsolutePath()
+            .normalize();
+        if (statePath.startsWith(target.toAbsolutePath().normalize())) {
+            throw new IllegalArgumentException("Synchronization state file must be outside the target directory: "
+                    + stateFile);
+        }
+
+        final Run run;
+        try {
+            Files.createDirectories(target);
+            Files.createDirectories(statePath.getParent());
+            run = new Run(source.normalize(), target, statePath, loadState(statePath));
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Unable to initialize synchronization target " + target, ex);
+        }
+
+        return syncContainer(run.root, run).thenApply(x -> run.finish()).whenComplete((report, err) -> {
+            try {
+                // A failed run has only confirmed part of the tree, so the previous state is kept for the rest
+                run.store(err == null ? run.state : run.merge());
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("Unable to store synchronization state", ex);
+            }
+        });
+    }
+
+    CompletionStage<Void> syncContainer(final URI container, final Run run) {
+        return run.limiter.submit(() -> client.read(container, headers, SolidContainer.class))
+            .handle((listing, err) -> {
+                if (err != null) {
+                    if (container.equals(run.root)) {
+                        throw new CompletionException(SolidUploader.unwrap(err));
+                    }
+                    run.failedContainers.add(container.toString());
+                    run.failures.put(container, SolidUploader.unwrap(err));
+                    return CompletableFuture.<Void>completedFuture(null);
+                }
+
+                try (final SolidContainer c = listing; final Stream<SolidResource> children = c.resources()) {
+                    return CompletableFuture.allOf(children.map(SolidResource::getIdentifier)
+                            .map(child -> SolidContainer.isContainer(child) ? syncContainer(child, run) :
+                                syncResource(child, run))
+                            .map(CompletionStage::toCompletableFuture)
+                            .toArray(CompletableFuture[]::new));
+                }
+            }).thenCompose(stage -> stage);
+    }
+
+    CompletionStage<Void> syncResource(final URI resource, final Run run) {
+        final String key = resource.toString();
+        final String etag = run.previous.get(key);
+        run.seen.add(key);
+
+        return run.limiter.submit(() -> {
+            final Request.Builder builder = Request.newBuilder(resource).GET();
+            SolidClient.decorateHeaders(builder, headers);
+            if (etag != null && !etag.isEmpty()) {
+                builder.setHeader(IF_NONE_MATCH, etag);
+            }
+            return client.send(builder.build(), download(run, resource));
+        }).thenAccept(response -> {
+            if (response.statusCode() == NOT_MODIFIED) {
+                run.state.put(key, etag);
+                run.unchanged.add(resource);
+                run.checkpoint();
+            } else if (SolidClient.isSuccess(response.statusCode())) {
+                run.state.put(key, response.headers().firstValue(ETAG).orElse(""));
+                run.downloaded.add(resource);
+                run.checkpoint();
+            } else {
+                throw SolidClientException.handle("Unable to synchronize resource", resource,
+                        response.statusCode(), response.headers(),
+                        new String(response.body(), StandardCharsets.UTF_8));
+            }
+        }).exceptionally(err -> {
+            if (etag != null) {
+                // Keep the previous state so that the local copy is neither discarded nor treated as current
+                run.state.put(key, etag);
+            }
+            run.failures.put(resource, SolidUploader.unwrap(err));
+            return null;
+        });
+    }
+
+    static String decode(final String segment) {
+        try {
+            return URLDecoder.decode(segment.replace("+", "%2B"), UTF_8);
+        } catch (final UnsupportedEncodingException ex) {
+            throw new SolidResourceException("Unable to decode path segment", ex);
+        }
+    }
+
+    static Path defaultStatePath(final Path target) {
+        final Path directory = target.toAbsolutePath().normalize();
+        if (directory.getParent() == null || directory.getFileName() == null) {
+            throw new IllegalArgumentException("A state file must be supplied to synchronize into " + target);
+        }
+        return directory.resolveSibling("." + directory.getFileName() + STATE_FILE_SUFFIX);
+    }
+
+    // Successful responses are streamed into the local copy; only an error body is held in memory
+    static Response.BodyHandler<byte[]> download(final Run run, final URI resource) {
+        return responseInfo -> {
+            if (SolidClient.isSuccess(responseInfo.statusCode())) {
+                try (final InputStream body = responseInfo.bodyAsStream()) {
+                    write(run.resolve(resource), body);
+                } catch (final IOException ex) {
+                    throw new UncheckedIOException("Unable to read " + resource, ex);
+                }
+                return null;
+            }
+            return responseInfo.body().array();
+        };
+    }
+
+    static void write(final Path path, final InputStream data) {
+        try {
+            Files.createDirectories(path.getParent());
+            // Write to a temporary file first so that an interrupted transfer never leaves a partial copy
+            final Path tmp = Files.createTempFile(path.getParent(), ".sync", ".tmp");
+            try {
+                Files.copy(data, tmp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Unable to write " + path, ex);
+        }
+    }
+
+    static Map<String, String> loadState(final Path path) throws IOException {
+        final Map<String, String> state = new ConcurrentHashMap<>();
+        if (Files.exists(path)) {
+            final Properties properties = new Properties();
+            try (final InputStream input = Files.newInputStream(path)) {
+                properties.load(input);
+            }
+            properties.stringPropertyNames().forEach(key -> state.put(key, properties.getProperty(key)));
+        }
+        return state;
+    }
+
+    static void storeState(final Path path, final Map<String, String> state) throws IOException {
+        final Properties properties = new Properties();
+        properties.putAll(state);
+        final Path tmp = Files.createTempFile(path.getParent(), ".sync", ".tmp");
+        try {
+            try (final OutputStream output = Files.newOutputStream(tmp)) {
+                properties.store(output, "Solid synchronization state");
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    final class Run {
+        final URI root;
+        final Path target;
+        final Path statePath;
+        final Map<String, String> previous;
+        final Map<String, String> state = new ConcurrentHashMap<>();
+        final Set<String> seen = ConcurrentHashMap.newKeySet();
+        final Set<String> failedContainers = ConcurrentHashMap.newKeySet();
+        final Set<URI> downloaded = ConcurrentHashMap.newKeySet();
+        final Set<URI> unchanged = ConcurrentHashMap.newKeySet();
+        final Set<URI> deleted = ConcurrentHashMap.newKeySet();
+        final Map<URI, Throwable> failures = new ConcurrentHashMap<>();
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(maxConcurrency);
+        final AtomicInteger confirmed = new AtomicInteger();
+
+        Run(final URI root, final Path target, final Path statePath, final Map<String, String> previous) {
+            this.root = root;
+            this.target = target.toAbsolutePath().normalize();
+            this.statePath = statePath;
+            this.previous = previous;
+        }
+
+        Map<String, String> merge() {
+            final Map<String, String> merged = new HashMap<>(previous);
+            merged.putAll(state);
+            return merged;
+        }
+
+        void store(final Map<String, String> values) throws IOException {
+            synchronized (this) {
+                storeState(statePath, values);
+            }
+        }
+
+        void checkpoint() {
+            if (confirmed.incrementAndGet() % CHECKPOINT_INTERVAL == 0) {
+                try {
+                    store(merge());
+                } catch (final IOException ex) {
+                    // A failed checkpoint is not fatal: the state is written again at the end of the run
+                    LOGGER.debug("Unable to checkpoint synchronization state", ex);
+                }
+            }
+        }
+
+        Path resolve(final URI resource) {
+            final String relative = root.relativize(resource).getRawPath();
+            Path path = target;
+            for (final String segment : relative.split("/")) {
+                final String name = decode(segment);
+                if (name.isEmpty() || ".".equals(name) || "..".equals(name) || name.contains("/")) {
+                    throw new SolidResourceException("Unable to map resource to a local path: " + resource);
+                }
+                path = path.resolve(name);
+            }
+            return path;
+        }
+
+        SyncReport finish() {
+            for (final Map.Entry<String, String> entry : previous.entrySet()) {
+                final String key = entry.getKey();
+                if (!seen.contains(key)) {
+                    if (failedContainers.stream().anyMatch(key::startsWith)) {
+                        // The container could not be listed, so the resource may still exist
+                        state.put(key, entry.getValue());
+                    } else {
+                        final URI resource = URI.create(key);
+                        try {
+                            Files.deleteIfExists(resolve(resource));
+                            deleted.add(resource);
+                        } catch (final IOException | RuntimeException ex) {
+                            failures.put(resource, ex);
+                        }
+                    }
+                }
+            }
+            return new SyncReport(downloaded, unchanged, deleted, failures);
+        }
+    }
+
+    /**
+     * Create a new {@link SolidSynchronizer.Builder}.
+     *
+     * @return the builder
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * A builder class for a {@link SolidSynchronizer}.
+     */
+    public static final class Builder {
+        private SolidClient builderClient;
+        private Headers builderHeaders;
+        private int builderMaxConcurrency = 8;
+
+        Builder() {
+        }
+
+        /**
+         * Set a pre-configured {@link SolidClient}.
+         *
+         * @param client the client
+         * @return this builder
+         */
+        public Builder client(final SolidClient client) {
+            this.builderClient = client;
+            return this;
+        }
+
+        /**
+         * Set a collection of headers to be used with each request.
+         *
+         * @param headers the headers
+         * @return this builder
+         */
+        public Builder headers(final Headers headers) {
+            this.builderHeaders = headers;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of concurrent requests.
+         *
+         * @param maxConcurrency the concurrency limit
+         * @return this builder
+         */
+        public Builder maxConcurrency(final int maxConcurrency) {
+            this.builderMaxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Build the {@link SolidSynchronizer}.
+         *
+         * @return the synchronizer
+         */
+        public SolidSynchronizer build() {
+            if (builderMaxConcurrency < 1) {
+                throw new IllegalArgumentException("Concurrency limit must be a positive number");
+            }
+            final SolidClient c = builderClient == null ? SolidClient.getClient() : builderClient;
+            final Headers h = builderHeaders == null ? SolidClient.EMPTY_HEADERS : builderHeaders;
+            return new SolidSynchronizer(c, h, builderMaxConcurrency);
+        }
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.solid;
+
+import com.inrupt.client.Headers;
+import com.inrupt.client.Request;
+import com.inrupt.client.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A bulk uploader for copying a local directory tree into a Solid storage.
+ *
+ * <p>Each local directory is mapped to a Solid container and each regular file to a non-RDF resource.
+ * Containers are created before any of their members, while files are uploaded in parallel with a bounded
+ * number of concurrent requests. File contents are streamed from disk as each request is sent, so files are
+ * never held in memory in full. Symbolic links are followed, but each directory is uploaded at most once,
+ * which guards against link cycles.
+ */
+public final class SolidUploader {
+
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String TEXT_TURTLE = "text/turtle";
+    private static final String OCTET_STREAM = "application/octet-stream";
+    private static final String WILDCARD = "*";
+    private static final int PRECONDITION_FAILED = 412;
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVER_ERROR = 500;
+    private static final String UTF_8 = "UTF-8";
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(task -> {
+        final Thread thread = new Thread(task, "solid-uploader-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final SolidClient client;
+    private final Headers headers;
+    private final int maxConcurrency;
+    private final int maxRetries;
+    private final Duration retryDelay;
+    private final Function<Path, String> contentTypes;
+
+    SolidUploader(final SolidClient client, final Headers headers, final int maxConcurrency, final int maxRetries,
+            final Duration retryDelay, final Function<Path, String> contentTypes) {
+        this.client = Objects.requireNonNull(client, "Client may not be null!");
+        this.headers = Objects.requireNonNull(headers, "Headers may not be null!");
+        this.maxConcurrency = maxConcurrency;
+        this.maxRetries = maxRetries;
+        this.retryDelay = Objects.requireNonNull(retryDelay, "Retry delay may not be null!");
+        this.contentTypes = Objects.requireNonNull(contentTypes, "Content type mapping may not be null!");
+    }
+
+    /**
+     * Upload the contents of a local directory into a Solid container.
+     *
+     * <p>The returned stage completes once every file has either been uploaded or has exhausted its retries.
+     * Individual failures are recorded in the {@link UploadManifest} rather than failing the entire upload.
+     *
+     * @param source the local directory
+     * @param target the container URI, which must end with a slash
+     * @return the next stage of completion, including the upload manifest
+     */
+    public CompletionStage<UploadManifest> upload(final Path source, final URI target) {
+        if (!Files.isDirectory(Objects.requireNonNull(source, "Source may not be null!"))) {
+            throw new IllegalArgumentException("Upload source must be a directory: " + source);
+        }
+        if (!SolidContainer.isContainer(Objects.requireNonNull(target, "Target may not be null!"))) {
+            throw new IllegalArgumentException("Upload target must be a container URI: " + target);
+        }
+
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(maxConcurrency);
+        final Queue<UploadManifest.Entry> entries = new ConcurrentLinkedQueue<>();
+        final Set<Path> visited = ConcurrentHashMap.newKeySet();
+        return uploadDirectory(source, target.normalize(), limiter, entries, visited)
+            .thenApply(x -> new UploadManifest(new ArrayList<>(entries)));
+    }
+
+    CompletionStage<Void> uploadDirectory(final Path directory, final URI container, final ConcurrencyLimiter limiter,
+            final Queue<UploadManifest.Entry> entries, final Set<Path> visited) {
+        try {
+            // A directory reached again via a symbolic link is skipped, so link cycles terminate
+            if (!visited.add(directory.toRealPath())) {
+                return CompletableFuture.completedFuture(null);
+            }
+        } catch (final IOException ex) {
+            entries.add(new UploadManifest.Entry(directory, container, 0, 0, ex));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return write(directory, container, true, limiter, entries).thenCompose(created -> {
+            if (!created) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            final List<Path> children;
+            try (final Stream<Path> stream = Files.list(directory)) {
+                children = stream.collect(Collectors.toList());
+            } catch (final IOException ex) {
+                entries.add(new UploadManifest.Entry(directory, container, 0, 0, ex));
+                return CompletableFuture.completedFuture(null);
+            }
+
+            return CompletableFuture.allOf(children.stream().map(child -> {
+                final String segment = encode(child.getFileName().toString());
+                if (Files.isDirectory(child)) {
+                    return uploadDirectory(child, container.resolve(segment + "/"), limiter, entries, visited);
+                }
+                return write(child, container.resolve(segment), false, limiter, entries);
+            }).map(CompletionStage::toCompletableFuture).toArray(CompletableFuture[]::new));
+        });
+    }
+
+    CompletionStage<Boolean> write(final Path source, final URI target, final boolean container,
+            final ConcurrencyLimiter limiter, final Queue<UploadManifest.Entry> entries) {
+        return attempt(source, target, container, limiter, 1).thenApply(entry -> {
+            entries.add(entry);
+            return entry.isSuccess();
+        });
+    }
+
+    CompletionStage<UploadManifest.Entry> attempt(final Path source, final URI target, final boolean container,
+            final ConcurrencyLimiter limiter, final int attempt) {
+        return limiter.submit(() -> client.send(buildRequest(source, target, container),
+                    Response.BodyHandlers.discarding()))
+            .handle((response, err) -> {
+                if (err == null && isSuccess(response.statusCode(), container)) {
+                    return CompletableFuture.completedFuture(
+                            new UploadManifest.Entry(source, target, response.statusCode(), attempt, null));
+                }
+
+                final int status = err == null ? response.statusCode() : 0;
+                if (attempt <= maxRetries && isRetryable(status, err)) {
+                    final long delay = retryDelay.toMillis() << Math.min(attempt - 1, 10);
+                    final CompletableFuture<UploadManifest.Entry> retry = new CompletableFuture<>();
+                    SCHEDULER.schedule(() ->
+                            attempt(source, target, container, limiter, attempt + 1).whenComplete((entry, e) -> {
+                                if (e != null) {
+                                    retry.completeExceptionally(e);
+                                } else {
+                                    retry.complete(entry);
+                                }
+                            }), delay, TimeUnit.MILLISECONDS);
+                    return retry;
+                }
+
+                final Throwable cause = err != null ? unwrap(err) :
+                    new SolidResourceException("Unable to upload resource, status: " + status);
+                return CompletableFuture.completedFuture(
+                        new UploadManifest.Entry(source, target, status, attempt, cause));
+            }).thenCompose(Function.identity());
+    }
+
+    Request buildRequest(final Path source, final URI target, final boolean container) {
+        final Request.Builder builder = Request.newBuilder(target);
+        SolidClient.decorateHeaders(builder, headers);
+
+        if (container) {
+            builder.PUT(Request.BodyPublishers.noBody())
+                .setHeader(CONTENT_TYPE, TEXT_TURTLE)
+                .setHeader(IF_NONE_MATCH, WILDCARD);
+        } else {
+            if (!Files.isReadable(source)) {
+                throw new UncheckedIOException("Unable to read " + source,
+                        new AccessDeniedException(source.toString()));
+            }
+            // Stream the file as the request is sent, rather than reading it into memory
+            builder.PUT(Request.BodyPublishers.ofWriter(output -> Files.copy(source, output)))
+                .setHeader(CONTENT_TYPE, contentTypes.apply(source));
+        }
+        return builder.build();
+    }
+
+    static boolean isSuccess(final int status, final boolean container) {
+        // An existing container is not an error
+        return SolidClient.isSuccess(status) || container && status == PRECONDITION_FAILED;
+    }
+
+    static boolean isRetryable(final int status, final Throwable err) {
+        if (err != null) {
+            // Local I/O errors will not resolve themselves on retry
+            return !(unwrap(err) instanceof UncheckedIOException);
+        }
+        return status == TOO_MANY_REQUESTS || status >= SERVER_ERROR;
+    }
+
+    static Throwable unwrap(final Throwable err) {
+        if (err instanceof CompletionException && err.getCause() != null) {
+            return err.getCause();
+        }
+        return err;
+    }
+
+    static String encode(final String segment) {
+        try {
+            return URLEncoder.encode(segment, UTF_8).replace("+", "%20");
+        } catch (final UnsupportedEncodingException ex) {
+            throw new SolidResourceException("Unable to encode path segment", ex);
+        }
+    }
+
+    static String probeContentType(final Path path) {
+        try {
+            final String type = Files.probeContentType(path);
+            return type != null ? type : OCTET_STREAM;
+        } catch (final IOException ex) {
+            return OCTET_STREAM;
+        }
+    }
+
+    /**
+     * Create a new {@link SolidUploader.Builder}.
+     *
+     * @return the builder
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * A builder class for a {@link SolidUploader}.
+     */
+    public static final class Builder {
+        private SolidClient builderClient;
+        private Headers builderHeaders;
+        private int builderMaxConcurrency = 8;
+        private int builderMaxRetries = 3;
+        private Duration builderRetryDelay = Duration.ofMillis(500);
+        private Function<Path, String> builderContentTypes;
+
+        Builder() {
+        }
+
+        /**
+         * Set a pre-configured {@link SolidClient}.
+         *
+         * @param client the client
+         * @return this builder
+         */
+        public Builder client(final SolidClient client) {
+            this.builderClient = client;
+            return this;
+        }
+
+        /**
+         * Set a collection of headers to be used with each upload request.
+         *
+         * @param headers the headers
+         * @return this builder
+         */
+        public Builder headers(final Headers headers) {
+            this.builderHeaders = headers;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of concurrent requests.
+         *
+         * @param maxConcurrency the concurrency limit
+         * @return this builder
+         */
+        public Builder maxConcurrency(final int maxConcurrency) {
+            this.builderMaxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Set the number of times a failed request will be retried.
+         *
+         * <p>Only network errors, {@code 429} and {@code 5xx} responses are retried.
+         *
+         * @param maxRetries the maximum number of retries
+         * @return this builder
+         */
+        public Builder maxRetries(final int maxRetries) {
+            this.builderMaxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * Set the initial delay between retries. The delay doubles on each subsequent retry.
+         *
+         * @param retryDelay the retry delay
+         * @return this builder
+         */
+        public Builder retryDelay(final Duration retryDelay) {
+            this.builderRetryDelay = retryDelay;
+            return this;
+        }
+
+        /**
+         * Set a function for determining the content type of a local file.
+         *
+         * <p>By default, {@link Files#probeContentType} is used.
+         *
+         * @param contentTypes the content type mapping
+         * @return this builder
+         */
+        public Builder contentTypes(final Function<Path, String> contentTypes) {
+            this.builderContentTypes = contentTypes;
+            return this;
+        }
+
+        /**
+         * Build the {@link SolidUploader}.
+         *
+         * @return the uploader
+         */
+        public SolidUploader build() {
+            if (builderMaxConcurrency < 1) {
+                throw new IllegalArgumentException("Concurrency limit must be a positive number");
+            }
+            if (builderMaxRetries < 0) {
+                throw new IllegalArgumentException("Retry limit may not be negative");
+            }
+            final SolidClient c = builderClient == null ? SolidClient.getClient() : builderClient;
+            final Headers h = builderHeaders == null ? SolidClient.EMPTY_HEADERS : builderHeaders;
+            final Function<Path, String> t = builderContentTypes == null ?
+                SolidUploader::probeContentType : builderContentTypes;
+            return new SolidUploader(c, h, builderMaxConcurrency, builderMaxRetries, builderRetryDelay, t);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.solid;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A summary of a single {@link SolidSynchronizer} run.
+ */
+public final class SyncReport {
+
+    private final Set<URI> downloaded;
+    private final Set<URI> unchanged;
+    private final Set<URI> deleted;
+    private final Map<URI, Throwable> failures;
+
+    SyncReport(final Set<URI> downloaded, final Set<URI> unchanged, final Set<URI> deleted,
+            final Map<URI, Throwable> failures) {
+        this.downloaded = Collections.unmodifiableSet(new TreeSet<>(downloaded));
+        this.unchanged = Collections.unmodifiableSet(new TreeSet<>(unchanged));
+        this.deleted = Collections.unmodifiableSet(new TreeSet<>(deleted));
+        this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+    }
+
+    /**
+     * Get the resources that were added or changed since the previous run.
+     *
+     * @return the downloaded resources
+     */
+    public Set<URI> getDownloaded() {
+        return downloaded;
+    }
+
+    /**
+     * Get the resources whose local copy was already current.
+     *
+     * @return the unchanged resources
+     */
+    public Set<URI> getUnchanged() {
+        return unchanged;
+    }
+
+    /**
+     * Get the resources that were removed from the storage since the previous run.
+     *
+     * @return the deleted resources
+     */
+    public Set<URI> getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Get the resources that could not be synchronized.
+     *
+     * @return the failed resources and their errors
+     */
+    public Map<URI, Throwable> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Determine whether every resource was synchronized.
+     *
+     * @return true if there were no failures
+     */
+    public boolean isSuccess() {
+        return failures.isEmpty();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.solid;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * A record of the resources written by a {@link SolidUploader}.
+ */
+public final class UploadManifest {
+
+    private final List<Entry> entries;
+
+    UploadManifest(final List<Entry> entries) {
+        this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+    }
+
+    /**
+     * Get all the entries in this manifest.
+     *
+     * @return the manifest entries
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Get the entries that could not be uploaded.
+     *
+     * @return the failed entries
+     */
+    public List<Entry> getFailures() {
+        return entries.stream().filter(entry -> !entry.isSuccess())
+            .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+    }
+
+    /**
+     * Determine whether all entries were successfully uploaded.
+     *
+     * @return true if no entry failed
+     */
+    public boolean isSuccess() {
+        return entries.stream().allMatch(Entry::isSuccess);
+    }
+
+    /**
+     * A single uploaded file or directory.
+     */
+    public static final class Entry {
+
+        private final Path source;
+        private final URI target;
+        private final int statusCode;
+        private final int attempts;
+        private final Throwable error;
+
+        Entry(final Path source, final URI target, final int statusCode, final int attempts,
+                final Throwable error) {
+            this.source = Objects.requireNonNull(source, "Source may not be null!");
+            this.target = Objects.requireNonNull(target, "Target may not be null!");
+            this.statusCode = statusCode;
+            this.attempts = attempts;
+            this.error = error;
+        }
+
+        /**
+         * Get the local file or directory.
+         *
+         * @return the local path
+         */
+        public Path getSource() {
+            return source;
+        }
+
+        /**
+         * Get the URI of the remote resource.
+         *
+         * @return the resource identifier
+         */
+        public URI getTarget() {
+            return target;
+        }
+
+        /**
+         * Get the HTTP status code of the final attempt.
+         *
+         * @return the status code, or {@code 0} if no response was received
+         */
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        /**
+         * Get the number of requests made for this entry.
+         *
+         * @return the number of attempts
+         */
+        public int getAttempts() {
+            return attempts;
+        }
+
+        /**
+         * Get the error associated with a failed upload.
+         *
+         * @return the error, if present
+         */
+        public Optional<Throwable> getError() {
+            return Optional.ofNullable(error);
+        }
+
+        /**
+         * Determine whether the upload succeeded.
+         *
+         * @return true if the resource was written or already existed
+         */
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+}
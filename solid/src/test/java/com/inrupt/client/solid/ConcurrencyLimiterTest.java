@@ -0,0 +1,74 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.solid;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimiterTest {
+
+    @Test
+    void testLongQueueOfCompletedOperations() {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(1);
+        final CompletableFuture<Integer> blocker = new CompletableFuture<>();
+        limiter.submit(() -> blocker);
+
+        final List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            final int value = i;
+            results.add(limiter.submit(() -> CompletableFuture.completedFuture(value)).toCompletableFuture());
+        }
+        assertFalse(results.get(0).isDone());
+
+        // Releasing the only permit runs every queued operation without recursing per operation
+        blocker.complete(-1);
+        assertDoesNotThrow(() -> CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).join());
+        assertEquals(99_999, results.get(99_999).join());
+    }
+
+    @Test
+    void testConcurrencyLimit() {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(2);
+        final AtomicInteger started = new AtomicInteger();
+        final List<CompletableFuture<Void>> operations = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            operations.add(new CompletableFuture<>());
+        }
+        for (final CompletableFuture<Void> operation : operations) {
+            limiter.submit(() -> {
+                started.incrementAndGet();
+                return operation;
+            });
+        }
+        assertEquals(2, started.get());
+
+        operations.get(0).complete(null);
+        assertEquals(3, started.get());
+        operations.forEach(operation -> operation.complete(null));
+        assertEquals(5, started.get());
+    }
+}
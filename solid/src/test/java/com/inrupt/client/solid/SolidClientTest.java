@@ -30,19 +30,25 @@ import com.inrupt.client.jackson.JacksonService;
 import com.inrupt.client.spi.JsonService;
 import com.inrupt.client.spi.RDFFactory;
 import com.inrupt.client.util.URIBuilder;
+import com.inrupt.client.vocabulary.LDP;
 import com.inrupt.client.vocabulary.PIM;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.RDF;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -173,6 +179,26 @@ class SolidClientTest {
 
     }
 
+    @Test
+    void testGetBinaryRdf() {
+        final URI uri = URI.create(config.get("solid_resource_uri") + "/binaryRdf");
+
+        try (final SolidRDFSource resource = client.read(uri, SolidRDFSource.class).toCompletableFuture().join()) {
+            assertEquals(uri, resource.getIdentifier());
+            assertEquals(4, resource.size());
+            assertEquals(2, resource.stream(Optional.empty(), rdf.createIRI(uri.toString()),
+                        rdf.createIRI("https://example.com/song"), null).count());
+        }
+    }
+
+    @Test
+    void testRdfAcceptHeader() {
+        // Cheaper syntaxes are preferred, with Turtle offered as the final fallback
+        final String accept = SolidResourceHandlers.getRdfMediaTypes();
+        assertTrue(accept.contains("application/n-triples;q=0.9"));
+        assertTrue(accept.endsWith("text/turtle;q=0.8"));
+    }
+
     @Test
     void testGetContainer() throws IOException, InterruptedException {
         final URI uri = URI.create(config.get("solid_resource_uri") + "/playlists/");
@@ -293,6 +319,206 @@ class SolidClientTest {
             }).toCompletableFuture().join();
     }
 
+    @Test
+    void testDeleteRecursive() {
+        final URI root = URI.create(config.get("solid_resource_uri") + "/tree/");
+        final URI leaf = URIBuilder.newBuilder(root).path("leaf").build();
+        final URI branch = URIBuilder.newBuilder(root).path("branch/").build();
+        final URI nested = URIBuilder.newBuilder(branch).path("nested").build();
+
+        final List<URI> deleted = Collections.synchronizedList(new ArrayList<>());
+        client.deleteRecursive(root, Headers.empty(), 2, deleted::add).toCompletableFuture().join();
+
+        assertEquals(4, deleted.size());
+        assertTrue(deleted.containsAll(Arrays.asList(root, leaf, branch, nested)));
+        // Containers are deleted only after their members
+        assertTrue(deleted.indexOf(nested) < deleted.indexOf(branch));
+        assertTrue(deleted.indexOf(branch) < deleted.indexOf(root));
+        assertTrue(deleted.indexOf(leaf) < deleted.indexOf(root));
+    }
+
+    @Test
+    void testDeleteRecursiveMissing() {
+        final URI uri = URI.create(config.get("solid_resource_uri") + "/missing/");
+        final CompletionException err = assertThrows(CompletionException.class,
+                client.deleteRecursive(uri).toCompletableFuture()::join);
+        assertInstanceOf(NotFoundException.class, err.getCause());
+    }
+
+    @Test
+    void testBuildAfterWrite() {
+        final SolidClient localClient = SolidClient.getClientBuilder().buildAfterWrite(true).build()
+            .session(Session.anonymous());
+        final URI uri = URI.create(config.get("solid_resource_uri") + "/built/resource");
+        final IRI subject = rdf.createIRI(uri.toString());
+        final IRI predicate = rdf.createIRI("https://example.com/title");
+
+        try (final SolidRDFSource resource = new SolidRDFSource(uri)) {
+            resource.add(rdf.createQuad(null, subject, predicate, rdf.createLiteral("Title")));
+
+            final SolidRDFSource created = localClient.create(resource).toCompletableFuture().join();
+            assertNotSame(resource, created);
+            assertEquals(uri, created.getIdentifier());
+            assertEquals(1, created.size());
+            assertTrue(created.contains(null, subject, predicate, rdf.createLiteral("Title")));
+            assertTrue(created.getHeaders().firstValue("ETag").orElse("").contains("built-1"));
+            assertEquals(Optional.of("text/turtle"), created.getHeaders().firstValue("Content-Type"));
+            assertTrue(created.getMetadata().getTypes().contains(LDP.RDFSource));
+        }
+    }
+
+    @Test
+    void testBuildAfterWriteCopiesDataset() {
+        final SolidClient localClient = SolidClient.getClientBuilder().buildAfterWrite(true).build()
+            .session(Session.anonymous());
+        final URI uri = URI.create(config.get("solid_resource_uri") + "/built/copy");
+        final IRI subject = rdf.createIRI(uri.toString());
+        final IRI predicate = rdf.createIRI("https://example.com/title");
+
+        try (final SolidRDFSource resource = new SolidRDFSource(uri)) {
+            resource.add(rdf.createQuad(null, subject, predicate, rdf.createLiteral("Title")));
+            final SolidRDFSource created = localClient.create(resource).toCompletableFuture().join();
+
+            // Later changes to the original resource do not leak into the built resource
+            resource.add(rdf.createQuad(null, subject, predicate, rdf.createLiteral("Other")));
+            assertEquals(1, created.size());
+            assertFalse(created.contains(null, subject, predicate, rdf.createLiteral("Other")));
+        }
+    }
+
+    @Test
+    void testRdfEntitySnapshot() {
+        final URI uri = URI.create(config.get("solid_resource_uri") + "/snapshot");
+        final IRI subject = rdf.createIRI(uri.toString());
+        final IRI predicate = rdf.createIRI("https://example.com/title");
+
+        try (final SolidRDFSource resource = new SolidRDFSource(uri)) {
+            resource.add(rdf.createQuad(null, subject, predicate, rdf.createLiteral("Title")));
+            final Request.BodyPublisher entity = SolidClient.cast(resource);
+            final byte[] body = entity.getBytes().array();
+
+            // A small resource is buffered, so the body has a known length and ignores later changes
+            resource.add(rdf.createQuad(null, subject, predicate, rdf.createLiteral("Other")));
+            assertEquals(body.length, entity.contentLength());
+            assertArrayEquals(body, entity.getBytes().array());
+
+            // A resource over the buffer limit is streamed instead
+            assertEquals(-1, new SolidClient.RDFEntity(resource, 1).contentLength());
+        }
+    }
+
+    @Test
+    void testRdfEntityDestinationError() {
+        final URI uri = URI.create(config.get("solid_resource_uri") + "/streamed");
+        final IRI subject = rdf.createIRI(uri.toString());
+        final IRI predicate = rdf.createIRI("https://example.com/title");
+
+        try (final SolidRDFSource resource = new SolidRDFSource(uri)) {
+            resource.add(rdf.createQuad(null, subject, predicate, rdf.createLiteral("Title")));
+            final SolidClient.RDFEntity entity = new SolidClient.RDFEntity(resource, 0);
+            final OutputStream closed = new OutputStream() {
+                @Override
+                public void write(final int b) throws IOException {
+                    throw new IOException("Closed");
+                }
+            };
+            assertThrows(IOException.class, () -> entity.writeTo(closed));
+
+            // A failure of the request stream is not reported as a serialization error
+            final CompletionStage<String> stage = CompletableFuture.completedFuture("response");
+            assertEquals("response", SolidClient.verifyEntity(entity, stage).toCompletableFuture().join());
+        }
+    }
+
+    @Test
+    void testBuildAfterWriteBinary() throws IOException {
+        final SolidClient localClient = SolidClient.getClientBuilder().buildAfterWrite(true).build()
+            .session(Session.anonymous());
+        final URI uri = URI.create(config.get("solid_resource_uri") + "/built/binary");
+        final InputStream entity = new ByteArrayInputStream("Binary content".getBytes(UTF_8));
+
+        try (final SolidNonRDFSource binary = new SolidNonRDFSource(uri, TEXT_PLAIN, entity);
+                final SolidNonRDFSource updated = localClient.update(binary).toCompletableFuture().join()) {
+            assertNotSame(binary, updated);
+            assertEquals(TEXT_PLAIN, updated.getContentType());
+            assertTrue(updated.getHeaders().firstValue("ETag").orElse("").contains("built-1"));
+            try (final InputStream body = updated.getEntity()) {
+                assertEquals("Binary content", new String(IOUtils.toByteArray(body), UTF_8));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testPatchUpdate(final String path) {
+        final SolidClient localClient = SolidClient.getClientBuilder().fetchAfterWrite(false).build()
+            .session(Session.anonymous());
+        final URI uri = URI.create(config.get("solid_resource_uri") + path);
+
+        try (final Playlist playlist = localClient.read(uri, Playlist.class).toCompletableFuture().join()) {
+            assertTrue(playlist.getAdditions().isEmpty());
+            assertTrue(playlist.getRemovals().isEmpty());
+
+            playlist.setTitle("New title");
+            assertEquals(1, playlist.getAdditions().size());
+            assertEquals(1, playlist.getRemovals().size());
+
+            assertSame(playlist, localClient.update(playlist).toCompletableFuture().join());
+            assertTrue(playlist.getAdditions().isEmpty());
+            assertTrue(playlist.getRemovals().isEmpty());
+        }
+    }
+
+    private static Stream<Arguments> testPatchUpdate() {
+        return Stream.of(
+            arguments("/patch/n3"),
+            arguments("/patch/sparql"),
+            arguments("/patch/unsupported"));
+    }
+
+    @Test
+    void testRegisteredFactory() {
+        final URI uri = URI.create(config.get("solid_resource_uri") + "/playlist");
+        ResourceFactories.registerRDFSource(RegisteredType.class, (identifier, dataset, headers) ->
+                new RegisteredType(identifier, dataset, headers, "rdf"));
+        ResourceFactories.registerNonRDFSource(RegisteredType.class, (identifier, contentType, entity, headers) ->
+                new RegisteredType(identifier, null, headers, contentType));
+
+        try (final RegisteredType resource = client.read(uri, RegisteredType.class).toCompletableFuture().join()) {
+            assertEquals("rdf", resource.getSource());
+            assertEquals(uri, resource.getIdentifier());
+            assertEquals(4, resource.size());
+        }
+    }
+
+    @Test
+    void testMissingConstructor() {
+        final URI uri = URI.create(config.get("solid_resource_uri") + "/binary");
+        final CompletionException err = assertThrows(CompletionException.class,
+                client.read(uri, InvalidBinary.class).toCompletableFuture()::join);
+        assertInstanceOf(SolidResourceException.class, err.getCause());
+        assertInstanceOf(NoSuchMethodException.class, err.getCause().getCause());
+    }
+
+    static class RegisteredType extends SolidRDFSource {
+        private final String source;
+
+        RegisteredType(final URI identifier, final Dataset dataset, final Headers headers, final String source) {
+            super(identifier, dataset, headers);
+            this.source = source;
+        }
+
+        String getSource() {
+            return source;
+        }
+    }
+
+    public static class InvalidBinary extends SolidNonRDFSource {
+        public InvalidBinary(final URI identifier) {
+            super(identifier, TEXT_PLAIN, null);
+        }
+    }
+
     @Test
     void testBinaryCreate() throws IOException {
         final URI uri = URI.create(config.get("solid_resource_uri") + "/binary");
@@ -0,0 +1,120 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.solid;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.inrupt.client.spi.RDFFactory;
+import com.inrupt.client.vocabulary.LDP;
+import com.inrupt.client.vocabulary.RDF;
+
+import java.net.URI;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.IRI;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class SolidContainerTest {
+
+    private static final org.apache.commons.rdf.api.RDF rdf = RDFFactory.getInstance();
+    private static final String CONTAINER = "https://storage.example/container/";
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "https://storage.example/container/child",
+        "https://storage.example/container/child/",
+        "https://storage.example/container/child//",
+        "https://storage.example/container/a/b",
+        "https://storage.example/container/",
+        "https://storage.example/container//",
+        "https://storage.example/container/.",
+        "https://storage.example/container/..",
+        "https://storage.example/container/../other",
+        "https://storage.example/container/./child",
+        "https://storage.example/container/.hidden",
+        "https://storage.example/container/...",
+        "https://storage.example/container/child?query",
+        "https://storage.example/container/child#fragment",
+        "https://storage.example/container/a%2Fb",
+        "https://storage.example/container/caf%C3%A9",
+        "https://storage.example/container/café",
+        "https://storage.example/container/a:b@c;d=e,f(g)!$&'*+~_-",
+        "https://STORAGE.example/container/child",
+        "http://storage.example/container/child",
+        "https://storage.example:443/container/child",
+        "https://storage.example/containerchild",
+        "https://storage.example/other/child",
+        "urn:uuid:12345"
+    })
+    void testContainmentMatchesUriChecks(final String object) {
+        final SolidContainer.Containment containment = new SolidContainer.Containment(CONTAINER);
+        assertEquals(SolidContainer.verifyContainmentIri(CONTAINER, rdf.createIRI(object)),
+                containment.verify(object));
+    }
+
+    @Test
+    void testNonContainerBase() {
+        final String base = "https://storage.example/resource";
+        final SolidContainer.Containment containment = new SolidContainer.Containment(base);
+        final String object = "https://storage.example/resource/child";
+        assertEquals(SolidContainer.verifyContainmentIri(base, rdf.createIRI(object)), containment.verify(object));
+    }
+
+    @Test
+    void testLargeContainer() {
+        final int size = 50_000;
+        final URI id = URI.create(CONTAINER);
+        final IRI subject = rdf.createIRI(CONTAINER);
+        final IRI contains = rdf.createIRI(LDP.contains.toString());
+        final IRI type = rdf.createIRI(RDF.type.toString());
+        final IRI basicContainer = rdf.createIRI(LDP.BasicContainer.toString());
+
+        final Dataset dataset = rdf.createDataset();
+        for (int i = 0; i < size; i++) {
+            final IRI child = rdf.createIRI(CONTAINER + (i % 10 == 0 ? "child-" + i + "/" : "child-" + i));
+            dataset.add(null, subject, contains, child);
+            if (i % 10 == 0) {
+                dataset.add(null, child, type, basicContainer);
+            }
+        }
+        // Invalid containment triples are skipped
+        dataset.add(null, subject, contains, rdf.createIRI(CONTAINER + "nested/child"));
+        dataset.add(null, subject, contains, rdf.createIRI("https://storage.example/other"));
+
+        try (final SolidContainer container = new SolidContainer(id, dataset)) {
+            final Set<SolidResource> resources = container.getResources();
+            assertEquals(size, resources.size());
+            assertEquals(size / 10, resources.stream()
+                    .filter(child -> child.getMetadata().getTypes().contains(URI.create(LDP.BasicContainer.toString())))
+                    .count());
+
+            try (final Stream<SolidResource> stream = container.resources()) {
+                assertEquals(resources.stream().map(SolidResource::getIdentifier).collect(Collectors.toSet()),
+                        stream.map(SolidResource::getIdentifier).collect(Collectors.toSet()));
+            }
+        }
+    }
+}
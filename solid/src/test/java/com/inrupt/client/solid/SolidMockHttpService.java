@@ -21,18 +21,27 @@
 package com.inrupt.client.solid;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import com.inrupt.client.Headers.Link;
 import com.inrupt.client.Request;
+import com.inrupt.client.spi.RdfService;
+import com.inrupt.client.spi.ServiceProvider;
 import com.inrupt.client.vocabulary.LDP;
 import com.inrupt.client.vocabulary.PIM;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.Collections;
 import java.util.Map;
 
+import org.apache.commons.rdf.api.RDFSyntax;
+
 public class SolidMockHttpService {
 
     private static final String USER_AGENT = "InruptJavaClient/" + Request.class
@@ -253,6 +262,162 @@ public class SolidMockHttpService {
                 .withHeader("Link", Link.of(URI.create("http://acl.example/nonRDF"), "acl").toString())
                 .withBody("This isn't valid turtle.")));
 
+        wireMockServer.stubFor(get(urlEqualTo("/tree/"))
+            .withHeader("User-Agent", equalTo(USER_AGENT))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "text/turtle")
+                .withHeader("Link", Link.of(LDP.BasicContainer, "type").toString())
+                .withBody("<> <http://www.w3.org/ns/ldp#contains> <leaf>, <branch/> .")));
+
+        wireMockServer.stubFor(get(urlEqualTo("/tree/branch/"))
+            .withHeader("User-Agent", equalTo(USER_AGENT))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "text/turtle")
+                .withHeader("Link", Link.of(LDP.BasicContainer, "type").toString())
+                .withBody("<> <http://www.w3.org/ns/ldp#contains> <nested> .")));
+
+        wireMockServer.stubFor(delete(urlMatching("/tree/.*"))
+            .withHeader("User-Agent", equalTo(USER_AGENT))
+            .willReturn(aResponse()
+                .withStatus(204)));
+
+        wireMockServer.stubFor(put(urlEqualTo("/upload/"))
+            .withHeader("If-None-Match", equalTo("*"))
+            .willReturn(aResponse()
+                .withStatus(412)));
+
+        wireMockServer.stubFor(put(urlEqualTo("/upload/nested%20dir/"))
+            .withHeader("Content-Type", equalTo("text/turtle"))
+            .withHeader("If-None-Match", equalTo("*"))
+            .willReturn(aResponse()
+                .withStatus(201)));
+
+        wireMockServer.stubFor(put(urlEqualTo("/upload/file.txt"))
+            .withHeader("Content-Type", equalTo("text/plain"))
+            .withRequestBody(equalTo("first file"))
+            .willReturn(aResponse()
+                .withStatus(201)));
+
+        wireMockServer.stubFor(put(urlEqualTo("/upload/nested%20dir/other.txt"))
+            .inScenario("Upload retry")
+            .whenScenarioStateIs(STARTED)
+            .willReturn(aResponse()
+                .withStatus(503))
+            .willSetStateTo("Available"));
+
+        wireMockServer.stubFor(put(urlEqualTo("/upload/nested%20dir/other.txt"))
+            .inScenario("Upload retry")
+            .whenScenarioStateIs("Available")
+            .withRequestBody(equalTo("second file"))
+            .willReturn(aResponse()
+                .withStatus(201)));
+
+        wireMockServer.stubFor(put(urlEqualTo("/upload/cycle/"))
+            .withHeader("If-None-Match", equalTo("*"))
+            .willReturn(aResponse()
+                .withStatus(201)));
+
+        wireMockServer.stubFor(put(urlEqualTo("/upload/forbidden.txt"))
+            .willReturn(aResponse()
+                .withStatus(403)));
+
+        wireMockServer.stubFor(get(urlEqualTo("/sync/"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "text/turtle")
+                .withBody("<> <http://www.w3.org/ns/ldp#contains> <first.txt>, <nested/> .")));
+
+        wireMockServer.stubFor(get(urlEqualTo("/sync/nested/"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "text/turtle")
+                .withBody("<> <http://www.w3.org/ns/ldp#contains> <second%20file.txt> .")));
+
+        wireMockServer.stubFor(get(urlEqualTo("/sync/first.txt"))
+            .atPriority(1)
+            .withHeader("If-None-Match", containing("v1"))
+            .willReturn(aResponse()
+                .withStatus(304)));
+
+        wireMockServer.stubFor(get(urlEqualTo("/sync/first.txt"))
+            .atPriority(2)
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "text/plain")
+                .withHeader("ETag", "\"v1\"")
+                .withBody("first file")));
+
+        wireMockServer.stubFor(get(urlEqualTo("/sync/nested/second%20file.txt"))
+            .atPriority(1)
+            .withHeader("If-None-Match", containing("v2"))
+            .willReturn(aResponse()
+                .withStatus(304)));
+
+        wireMockServer.stubFor(get(urlEqualTo("/sync/nested/second%20file.txt"))
+            .atPriority(2)
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "text/plain")
+                .withHeader("ETag", "\"v2\"")
+                .withBody("second file")));
+
+        wireMockServer.stubFor(put(urlMatching("/built/.*"))
+            .willReturn(aResponse()
+                .withStatus(201)
+                .withHeader("Content-Type", "text/plain")
+                .withHeader("ETag", "\"built-1\"")
+                .withHeader("Link", Link.of(LDP.RDFSource, "type").toString())
+                .withBody("Created")));
+
+        wireMockServer.stubFor(get(urlEqualTo("/patch/n3"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "text/turtle")
+                .withHeader("Accept-Patch", "application/sparql-update, text/n3")
+                .withHeader("ETag", "\"patch-1\"")
+                .withBodyFile("playlist.ttl")));
+
+        wireMockServer.stubFor(patch(urlEqualTo("/patch/n3"))
+            .withHeader("Content-Type", equalTo("text/n3"))
+            .withHeader("If-Match", containing("patch-1"))
+            .withRequestBody(containing("<http://www.w3.org/ns/solid/terms#InsertDeletePatch>"))
+            .withRequestBody(matching("(?s).*solid/terms#deletes> \\{.*\"My playlist\".*solid/terms#inserts> "
+                        + "\\{.*\"New title\".*"))
+            .willReturn(aResponse()
+                .withStatus(204)));
+
+        wireMockServer.stubFor(get(urlEqualTo("/patch/sparql"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "text/turtle")
+                .withHeader("Accept-Patch", "application/sparql-update")
+                .withBodyFile("playlist.ttl")));
+
+        wireMockServer.stubFor(patch(urlEqualTo("/patch/sparql"))
+            .withHeader("Content-Type", equalTo("application/sparql-update"))
+            .withRequestBody(matching("(?s)DELETE DATA \\{.*\"My playlist\".*\\};\nINSERT DATA \\{.*\"New title\".*"))
+            .willReturn(aResponse()
+                .withStatus(204)));
+
+        wireMockServer.stubFor(get(urlEqualTo("/patch/unsupported"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "text/turtle")
+                .withHeader("Accept-Patch", "text/n3")
+                .withBodyFile("playlist.ttl")));
+
+        wireMockServer.stubFor(patch(urlEqualTo("/patch/unsupported"))
+            .willReturn(aResponse()
+                .withStatus(405)));
+
+        wireMockServer.stubFor(put(urlEqualTo("/patch/unsupported"))
+            .withHeader("Content-Type", containing("text/turtle"))
+            .withRequestBody(containing("New title"))
+            .willReturn(aResponse()
+                .withStatus(204)));
+
         wireMockServer.stubFor(get(urlEqualTo("/missing"))
             .withHeader("User-Agent", equalTo(USER_AGENT))
             .willReturn(aResponse()
@@ -274,6 +439,18 @@ public class SolidMockHttpService {
                 .withHeader("Content-Type", "application/json")
                 .withBody("{\"error\": \"forbidden\"}")));
 
+        final RdfService service = ServiceProvider.getRdfService();
+        for (final RDFSyntax syntax : service.getBinarySyntaxes()) {
+            wireMockServer.stubFor(get(urlEqualTo("/binaryRdf"))
+                .withHeader("User-Agent", equalTo(USER_AGENT))
+                .withHeader("Accept", containing(syntax.mediaType()))
+                .willReturn(aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", syntax.mediaType())
+                    .withHeader("Link", Link.of(LDP.RDFSource, "type").toString())
+                    .withBody(serialize(service, "playlist.ttl", syntax))));
+        }
+
         wireMockServer.stubFor(get(urlEqualTo("/noContentType"))
             .withHeader("User-Agent", equalTo(USER_AGENT))
             .willReturn(aResponse()
@@ -281,6 +458,17 @@ public class SolidMockHttpService {
                 .withBodyFile("solidResourceExample.ttl")));
     }
 
+    private byte[] serialize(final RdfService service, final String file, final RDFSyntax syntax) {
+        try (final InputStream input = SolidMockHttpService.class.getResourceAsStream("/__files/" + file);
+                final ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            service.fromDataset(service.toDataset(RDFSyntax.TURTLE, input, wireMockServer.baseUrl() + "/binaryRdf"),
+                    syntax, output);
+            return output.toByteArray();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
     public Map<String, String> start() {
         wireMockServer.start();
 
@@ -22,6 +22,7 @@ package com.inrupt.client.solid;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.inrupt.client.Headers;
 import com.inrupt.client.Request;
 import com.inrupt.client.Response;
 import com.inrupt.client.spi.HttpService;
@@ -29,12 +30,14 @@ import com.inrupt.client.spi.ServiceProvider;
 import com.inrupt.client.util.URIBuilder;
 import com.inrupt.client.vocabulary.LDP;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -164,6 +167,29 @@ class SolidRDFSourceTest {
         }
     }
 
+    @Test
+    void testMetadataFromHeaders() {
+        final URI id = URI.create("https://resource.example/");
+        final Map<String, List<String>> values = new HashMap<>();
+        values.put("Link", Collections.singletonList("<" + LDP.BasicContainer + ">; rel=\"type\""));
+        values.put("WAC-Allow", Collections.singletonList("user=\"read write\""));
+        final Headers headers = Headers.of(values);
+
+        try (final SolidRDFSource res = new SolidRDFSource(id, null, headers)) {
+            final Metadata metadata = res.getMetadata();
+            assertTrue(metadata.getTypes().contains(LDP.BasicContainer));
+            assertTrue(metadata.getWacAllow().get("user").contains("write"));
+            assertSame(metadata, res.getMetadata());
+        }
+
+        try (final SolidNonRDFSource res = new SolidNonRDFSource(id, "text/plain",
+                new ByteArrayInputStream(new byte[0]), headers)) {
+            final Metadata metadata = res.getMetadata();
+            assertTrue(metadata.getTypes().contains(LDP.BasicContainer));
+            assertSame(metadata, res.getMetadata());
+        }
+    }
+
     @Test
     void testEmptyContainerBuilder() {
         final URI id = URI.create("https://resource.example/");
@@ -103,6 +103,12 @@ class SolidSyncClientTest {
         }
     }
 
+    @Test
+    void testDeleteRecursive() {
+        final URI uri = URI.create(config.get("solid_resource_uri") + "/tree/");
+        assertDoesNotThrow(() -> client.deleteRecursive(uri));
+    }
+
     @Test
     void testGetTextResource() {
         final URI uri = URI.create(config.get("solid_resource_uri") + "/nonRDF");
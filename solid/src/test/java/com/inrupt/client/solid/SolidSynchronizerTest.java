@@ -0,0 +1,153 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.solid;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.inrupt.client.auth.Session;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SolidSynchronizerTest {
+
+    private static final SolidMockHttpService mockHttpServer = new SolidMockHttpService();
+    private static final Map<String, String> config = new HashMap<>();
+    private static final SolidClient client = SolidClient.getClient().session(Session.anonymous());
+
+    @BeforeAll
+    static void setup() {
+        config.putAll(mockHttpServer.start());
+    }
+
+    @AfterAll
+    static void teardown() {
+        mockHttpServer.stop();
+    }
+
+    @Test
+    void testIncrementalSync(@TempDir final Path tmp) throws IOException {
+        final Path dir = tmp.resolve("mirror");
+        final Path statePath = tmp.resolve(".mirror" + SolidSynchronizer.STATE_FILE_SUFFIX);
+        Files.createDirectories(dir);
+        final URI source = URI.create(config.get("solid_resource_uri") + "/sync/");
+        final URI first = source.resolve("first.txt");
+        final URI second = source.resolve("nested/second%20file.txt");
+        final URI removed = source.resolve("removed.txt");
+
+        // Simulate a resource that was synchronized previously but no longer exists
+        final Path stale = dir.resolve("removed.txt");
+        Files.write(stale, "stale".getBytes(UTF_8));
+        final Properties previous = new Properties();
+        previous.setProperty(removed.toString(), "\"v0\"");
+        try (final OutputStream output = Files.newOutputStream(statePath)) {
+            previous.store(output, null);
+        }
+
+        final SolidSynchronizer synchronizer = SolidSynchronizer.newBuilder().client(client).maxConcurrency(2)
+            .build();
+
+        final SyncReport report = synchronizer.sync(source, dir).toCompletableFuture().join();
+        assertTrue(report.isSuccess());
+        assertEquals(2, report.getDownloaded().size());
+        assertTrue(report.getDownloaded().contains(first));
+        assertTrue(report.getDownloaded().contains(second));
+        assertTrue(report.getUnchanged().isEmpty());
+        assertEquals(1, report.getDeleted().size());
+        assertTrue(report.getDeleted().contains(removed));
+
+        assertEquals("first file", new String(Files.readAllBytes(dir.resolve("first.txt")), UTF_8));
+        assertEquals("second file", new String(Files.readAllBytes(
+                        dir.resolve("nested").resolve("second file.txt")), UTF_8));
+        assertFalse(Files.exists(stale));
+        // The state file is kept outside the mirrored tree
+        assertFalse(Files.exists(dir.resolve(SolidSynchronizer.STATE_FILE_SUFFIX)));
+
+        final Properties state = new Properties();
+        try (final InputStream input = Files.newInputStream(statePath)) {
+            state.load(input);
+        }
+        assertEquals(2, state.size());
+        // Some transports may decorate the ETag value (e.g. for compressed responses)
+        assertTrue(state.getProperty(first.toString()).contains("v1"));
+        assertTrue(state.getProperty(second.toString()).contains("v2"));
+
+        final SyncReport next = synchronizer.sync(source, dir).toCompletableFuture().join();
+        assertTrue(next.isSuccess());
+        assertTrue(next.getDownloaded().isEmpty());
+        assertTrue(next.getDeleted().isEmpty());
+        assertEquals(2, next.getUnchanged().size());
+    }
+
+    @Test
+    void testSyncMissingContainer(@TempDir final Path tmp) throws IOException {
+        final URI source = URI.create(config.get("solid_resource_uri") + "/missing/");
+        final String resource = source.resolve("resource.txt").toString();
+        final Path dir = tmp.resolve("mirror");
+        final Path statePath = tmp.resolve("state.properties");
+        final Properties previous = new Properties();
+        previous.setProperty(resource, "\"v0\"");
+        try (final OutputStream output = Files.newOutputStream(statePath)) {
+            previous.store(output, null);
+        }
+
+        final SolidSynchronizer synchronizer = SolidSynchronizer.newBuilder().client(client).build();
+        final CompletionException err = assertThrows(CompletionException.class,
+                synchronizer.sync(source, dir, statePath).toCompletableFuture()::join);
+        assertInstanceOf(NotFoundException.class, err.getCause());
+
+        // The previous state survives a failed run
+        final Properties state = new Properties();
+        try (final InputStream input = Files.newInputStream(statePath)) {
+            state.load(input);
+        }
+        assertEquals("\"v0\"", state.getProperty(resource));
+    }
+
+    @Test
+    void testInvalidSource(@TempDir final Path dir) {
+        final SolidSynchronizer synchronizer = SolidSynchronizer.newBuilder().client(client).build();
+        final URI resource = URI.create(config.get("solid_resource_uri") + "/sync");
+        assertThrows(IllegalArgumentException.class, () -> synchronizer.sync(resource, dir));
+    }
+
+    @Test
+    void testStateFileInsideTarget(@TempDir final Path dir) {
+        final SolidSynchronizer synchronizer = SolidSynchronizer.newBuilder().client(client).build();
+        final URI source = URI.create(config.get("solid_resource_uri") + "/sync/");
+        assertThrows(IllegalArgumentException.class, () ->
+                synchronizer.sync(source, dir, dir.resolve("state.properties")));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright Inrupt Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.inrupt.client.solid;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.inrupt.client.auth.Session;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SolidUploaderTest {
+
+    private static final SolidMockHttpService mockHttpServer = new SolidMockHttpService();
+    private static final Map<String, String> config = new HashMap<>();
+    private static final SolidClient client = SolidClient.getClient().session(Session.anonymous());
+
+    @BeforeAll
+    static void setup() {
+        config.putAll(mockHttpServer.start());
+    }
+
+    @AfterAll
+    static void teardown() {
+        mockHttpServer.stop();
+    }
+
+    @Test
+    void testUploadDirectory(@TempDir final Path dir) throws IOException {
+        final URI target = URI.create(config.get("solid_resource_uri") + "/upload/");
+        Files.write(dir.resolve("file.txt"), "first file".getBytes(UTF_8));
+        Files.createDirectory(dir.resolve("nested dir"));
+        Files.write(dir.resolve("nested dir").resolve("other.txt"), "second file".getBytes(UTF_8));
+
+        final SolidUploader uploader = SolidUploader.newBuilder().client(client).maxConcurrency(2)
+            .retryDelay(Duration.ofMillis(10)).contentTypes(path -> "text/plain").build();
+        final UploadManifest manifest = uploader.upload(dir, target).toCompletableFuture().join();
+
+        assertTrue(manifest.isSuccess());
+        assertTrue(manifest.getFailures().isEmpty());
+        assertEquals(4, manifest.getEntries().size());
+
+        final Map<URI, UploadManifest.Entry> entries = manifest.getEntries().stream()
+            .collect(Collectors.toMap(UploadManifest.Entry::getTarget, Function.identity()));
+        assertEquals(412, entries.get(target).getStatusCode());
+        assertEquals(201, entries.get(target.resolve("file.txt")).getStatusCode());
+        assertEquals(1, entries.get(target.resolve("nested%20dir/")).getAttempts());
+        final UploadManifest.Entry retried = entries.get(target.resolve("nested%20dir/other.txt"));
+        assertEquals(2, retried.getAttempts());
+        assertEquals(dir.resolve("nested dir").resolve("other.txt"), retried.getSource());
+    }
+
+    @Test
+    void testUploadFailure(@TempDir final Path dir) throws IOException {
+        final URI target = URI.create(config.get("solid_resource_uri") + "/upload/");
+        Files.write(dir.resolve("forbidden.txt"), "secret".getBytes(UTF_8));
+
+        final SolidUploader uploader = SolidUploader.newBuilder().client(client).build();
+        final UploadManifest manifest = uploader.upload(dir, target).toCompletableFuture().join();
+
+        assertFalse(manifest.isSuccess());
+        assertEquals(1, manifest.getFailures().size());
+        final UploadManifest.Entry failure = manifest.getFailures().get(0);
+        assertEquals(target.resolve("forbidden.txt"), failure.getTarget());
+        assertEquals(403, failure.getStatusCode());
+        assertEquals(1, failure.getAttempts());
+        assertTrue(failure.getError().isPresent());
+    }
+
+    @Test
+    void testSymbolicLinkCycle(@TempDir final Path dir) throws IOException {
+        final URI target = URI.create(config.get("solid_resource_uri") + "/upload/");
+        final Path cycle = Files.createDirectory(dir.resolve("cycle"));
+        try {
+            Files.createSymbolicLink(cycle.resolve("parent"), dir);
+        } catch (final UnsupportedOperationException | IOException ex) {
+            assumeTrue(false, "Symbolic links are not supported");
+        }
+
+        final SolidUploader uploader = SolidUploader.newBuilder().client(client).build();
+        final UploadManifest manifest = uploader.upload(dir, target).toCompletableFuture().join();
+
+        final Map<URI, UploadManifest.Entry> entries = manifest.getEntries().stream()
+            .collect(Collectors.toMap(UploadManifest.Entry::getTarget, Function.identity()));
+        assertEquals(2, entries.size());
+        assertEquals(201, entries.get(target.resolve("cycle/")).getStatusCode());
+        assertFalse(entries.containsKey(target.resolve("cycle/parent/")));
+    }
+
+    @Test
+    void testInvalidArguments(@TempDir final Path dir) {
+        final SolidUploader uploader = SolidUploader.newBuilder().client(client).build();
+        final URI resource = URI.create(config.get("solid_resource_uri") + "/upload");
+        assertThrows(IllegalArgumentException.class, () -> uploader.upload(dir, resource));
+        assertThrows(IllegalArgumentException.class, () -> uploader.upload(dir.resolve("missing"),
+                    URI.create(config.get("solid_resource_uri") + "/upload/")));
+        assertThrows(IllegalArgumentException.class, () -> SolidUploader.newBuilder().maxConcurrency(0).build());
+    }
+}
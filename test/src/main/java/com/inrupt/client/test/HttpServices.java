@@ -20,6 +20,7 @@
  */
 package com.inrupt.client.test;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.inrupt.client.Request;
@@ -28,6 +29,8 @@ import com.inrupt.client.spi.HttpService;
 import com.inrupt.client.spi.ServiceProvider;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -82,6 +85,26 @@ public class HttpServices {
         assertTrue(response.body().contains("Julie C. Sparks and David Widger"));
     }
 
+    @Test
+    void testSendOfStream() throws IOException {
+        final URI uri = URI.create(config.get(HTTP_URI) + "/file");
+        final Request request = Request.newBuilder()
+            .uri(uri)
+            .GET()
+            .build();
+
+        final Response<String> response = httpService.send(request, responseInfo -> {
+            try (final InputStream input = responseInfo.bodyAsStream()) {
+                return new String(input.readAllBytes(), UTF_8);
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }).toCompletableFuture().join();
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("Julie C. Sparks and David Widger"));
+    }
+
     @Test
     void testSendRequestImage() throws IOException {
         final URI uri = URI.create(config.get(HTTP_URI) + "/solid.png");
@@ -119,6 +142,23 @@ public class HttpServices {
         assertFalse(response.headers().firstValue(CONTENT_TYPE).isPresent());
     }
 
+    @Test
+    void testPostStreamedTriple() throws IOException {
+        final URI uri = URI.create(config.get(HTTP_URI) + "/rdf/");
+        final String triple = "<http://example.test/s> <http://example.test/p> \"object\" .";
+        final Request request = Request.newBuilder()
+                .uri(uri)
+                .header(CONTENT_TYPE, "text/turtle")
+                .POST(Request.BodyPublishers.ofWriter(output -> output.write(triple.getBytes(UTF_8))))
+                .build();
+
+        final Response<Void> response = httpService.send(request, Response.BodyHandlers.discarding())
+            .toCompletableFuture().join();
+
+        assertEquals(201, response.statusCode());
+        assertEquals(uri, response.uri());
+    }
+
     @Test
     void testPatchTriple() throws IOException {
         final URI uri = URI.create(config.get(HTTP_URI) + "/rdf");
@@ -20,6 +20,7 @@
  */
 package com.inrupt.client.test;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.inrupt.client.spi.RDFFactory;
@@ -30,6 +31,8 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -115,6 +118,111 @@ public class RdfServices {
         }
     }
 
+    @Test
+    void parseToSinkTurtle() throws Exception {
+        final List<Quad> quads = new ArrayList<>();
+        try (final InputStream input = RdfServices.class
+                .getResourceAsStream("/com/inrupt/client/test/rdf/profileExample.ttl")) {
+            rdfService.parse(RDFSyntax.TURTLE, input, null, quads::add);
+        }
+
+        assertEquals(10, quads.size());
+        assertTrue(quads.stream().noneMatch(quad -> quad.getGraphName().isPresent()));
+    }
+
+    @Test
+    void parseToSinkTrig() throws Exception {
+        final List<Quad> quads = new ArrayList<>();
+        try (final InputStream input = RdfServices.class
+                .getResourceAsStream("/com/inrupt/client/test/rdf/oneTriple.trig")) {
+            rdfService.parse(RDFSyntax.TRIG, input, null, quads::add);
+        }
+
+        assertEquals(1, quads.size());
+        assertTrue(quads.stream().map(Quad::getGraphName)
+                .filter(Optional::isPresent).map(Optional::get)
+                .filter(IRI.class::isInstance).map(IRI.class::cast).map(IRI::getIRIString)
+                .anyMatch(RdfTestModel.G_VALUE::equals));
+    }
+
+    @Test
+    void parseToSinkRelativeURIs() throws Exception {
+        final List<Quad> quads = new ArrayList<>();
+        try (final InputStream input = RdfServices.class
+                .getResourceAsStream("/com/inrupt/client/test/rdf/relativeURIs.ttl")) {
+            rdfService.parse(RDFSyntax.TURTLE, input, RdfTestModel.TEST_NAMESPACE, quads::add);
+        }
+
+        assertEquals(2, quads.size());
+        assertTrue(quads.stream().map(Quad::getSubject)
+                .filter(IRI.class::isInstance).map(IRI.class::cast).map(IRI::getIRIString)
+                .anyMatch(iri -> iri.contains(RdfTestModel.TEST_NAMESPACE)));
+    }
+
+    @Test
+    void parseToSinkException() throws IOException {
+        try (final InputStream input = RdfServices.class
+                .getResourceAsStream("/com/inrupt/client/test/rdf/oneTriple.trig")) {
+            assertThrows(IOException.class, () -> rdfService.parse(RDFSyntax.TURTLE, input, null, quad -> { }));
+        }
+    }
+
+    @Test
+    void binaryRoundTrip() throws Exception {
+        for (final RDFSyntax syntax : rdfService.getBinarySyntaxes()) {
+            final byte[] data;
+            try (final InputStream input = RdfServices.class
+                    .getResourceAsStream("/com/inrupt/client/test/rdf/profileExample.ttl");
+                    final ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+                rdfService.fromDataset(rdfService.toDataset(RDFSyntax.TURTLE, input, null), syntax, output);
+                data = output.toByteArray();
+            }
+
+            assertEquals(Optional.of(syntax), rdfService.getSyntax(syntax.mediaType()));
+            try (final InputStream input = new ByteArrayInputStream(data);
+                    final Dataset dataset = rdfService.toDataset(syntax, input, null)) {
+                assertEquals(10, dataset.size());
+            }
+        }
+    }
+
+    @Test
+    void parseLargeNTriplesDocument() throws Exception {
+        parseLargeLineBasedDocument(RDFSyntax.NTRIPLES);
+    }
+
+    @Test
+    void parseLargeNQuadsDocument() throws Exception {
+        parseLargeLineBasedDocument(RDFSyntax.NQUADS);
+    }
+
+    void parseLargeLineBasedDocument(final RDFSyntax syntax) throws Exception {
+        final int lines = 100_000;
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        for (int i = 0; i < lines; i++) {
+            final String graph = i % 2 == 0 ? "" : " <" + RdfTestModel.G_VALUE + ">";
+            final String line = "_:b" + (i % 100) + " <" + RdfTestModel.P_VALUE + "> \"value " + i + "\""
+                + (syntax.supportsDataset() ? graph : "") + " .\n";
+            output.write(line.getBytes(UTF_8));
+        }
+
+        try (final InputStream input = new ByteArrayInputStream(output.toByteArray());
+                final Dataset dataset = rdfService.toDataset(syntax, input, null)) {
+            assertEquals(lines, dataset.size());
+            try (final Stream<Quad> stream = dataset.stream().map(Quad.class::cast)) {
+                assertEquals(100, stream.map(Quad::getSubject).distinct().count());
+            }
+        }
+    }
+
+    @Test
+    void getSyntax() {
+        assertEquals(Optional.of(RDFSyntax.TURTLE), rdfService.getSyntax("text/turtle; charset=UTF-8"));
+        assertEquals(Optional.of(RDFSyntax.NTRIPLES), rdfService.getSyntax("application/n-triples"));
+        assertFalse(rdfService.getSyntax("text/plain").isPresent());
+        assertFalse(rdfService.getSyntax(null).isPresent());
+    }
+
     @Test
     void parseToGraph() throws Exception {
         try (final InputStream input = RdfServices.class
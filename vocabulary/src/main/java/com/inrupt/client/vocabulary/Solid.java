@@ -31,12 +31,28 @@ public final class Solid {
 
     private static String namespace = "http://www.w3.org/ns/solid/terms#";
 
+    // Classes
+    /**
+     * The solid:InsertDeletePatch URI.
+     */
+    public static final URI InsertDeletePatch = URI.create(namespace + "InsertDeletePatch");
+
     // Properties
     /**
      * The solid:oidcIssuer URI.
      */
     public static final URI oidcIssuer = URI.create(namespace + "oidcIssuer");
 
+    /**
+     * The solid:inserts URI.
+     */
+    public static final URI inserts = URI.create(namespace + "inserts");
+
+    /**
+     * The solid:deletes URI.
+     */
+    public static final URI deletes = URI.create(namespace + "deletes");
+
     /**
      * Get the Solid namespace URI.
      *